@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+/**
+ * Measures the v2 menu gesture handling for one second of a drag around the
+ * ring sampled at 240 Hz. The samples arrive batched in 60 move events per
+ * second, four samples each, as a 240 Hz touch panel delivers them to a
+ * 60 Hz display. Each benchmark returns the number of selection changes, as
+ * each of them redraws part of the menu.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GestureBatchBenchmark {
+
+	private static final int SAMPLE_RATE = 240;
+	private static final int FRAME_RATE = 60;
+	private static final int SAMPLES_PER_EVENT = SAMPLE_RATE / FRAME_RATE;
+	private static final float X = 240, Y = 400;
+	private static final float RADIUS = 100, THICKNESS = 60;
+
+	@Param({ "4", "7", "12", "64" })
+	public int items;
+
+	@Param({ "false", "true" })
+	public boolean alt;
+
+	private final float[] sampleX = new float[SAMPLE_RATE];
+	private final float[] sampleY = new float[SAMPLE_RATE];
+
+	@Setup
+	public void setup() {
+		// One and a half turns around the ring, wobbling across its width
+		Random random = new Random(2012);
+		float[] point = new float[2];
+		for (int i = 0; i < SAMPLE_RATE; i++) {
+			float angle = 540f * i / SAMPLE_RATE;
+			float radius = RADIUS + (random.nextFloat() - 0.5f) * THICKNESS;
+			RadialGeometry.pointOnCircle(X, Y, radius, angle, point);
+			sampleX[i] = point[0];
+			sampleY[i] = point[1];
+		}
+	}
+
+	/**
+	 * Looks up the final sample of each move event only, as the v2 view does.
+	 */
+	@Benchmark
+	public int finalSamplePerEvent() {
+		float inner = RADIUS - THICKNESS / 2;
+		int changes = 0;
+		int last = RadialGeometry.NO_SECTOR;
+		for (int e = SAMPLES_PER_EVENT - 1; e < SAMPLE_RATE; e += SAMPLES_PER_EVENT) {
+			int sector = RadialGeometry.sectorAt(X, Y, sampleX[e], sampleY[e], inner, alt,
+					items);
+			if (sector != last) {
+				last = sector;
+				changes++;
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * Looks up every sample, historical ones included.
+	 */
+	@Benchmark
+	public int everySample() {
+		float inner = RADIUS - THICKNESS / 2;
+		int changes = 0;
+		int last = RadialGeometry.NO_SECTOR;
+		for (int i = 0; i < SAMPLE_RATE; i++) {
+			int sector = RadialGeometry.sectorAt(X, Y, sampleX[i], sampleY[i], inner, alt,
+					items);
+			if (sector != last) {
+				last = sector;
+				changes++;
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * Looks up every sample with a square root distance and whole degree
+	 * sectors, as the v2 view did before.
+	 */
+	@Benchmark
+	public int everySampleWholeDegrees() {
+		float inner = RADIUS - THICKNESS / 2;
+		int changes = 0;
+		int last = RadialGeometry.NO_SECTOR;
+		for (int i = 0; i < SAMPLE_RATE; i++) {
+			int sector = RadialGeometry.NO_SECTOR;
+			double dx = sampleX[i] - X;
+			double dy = sampleY[i] - Y;
+			if (Math.sqrt(dx * dx + dy * dy) > inner) {
+				float angle = (float) (Math.atan2(dy, dx) * 180 / Math.PI) + 90
+						+ (alt ? (360 / items) / 2 : 0);
+				if (angle < 0)
+					angle += 360;
+				sector = (int) (angle / (360 / items));
+				if (sector >= items)
+					sector = 0;
+			}
+			if (sector != last) {
+				last = sector;
+				changes++;
+			}
+		}
+		return changes;
+	}
+}
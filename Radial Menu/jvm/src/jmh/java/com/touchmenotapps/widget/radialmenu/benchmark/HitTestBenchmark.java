@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+import com.touchmenotapps.widget.radialmenu.menu.v1.RadialMenuHitTester;
+
+/**
+ * Measures locating a batch of touches on a menu with both rings shown, with
+ * {@link RadialMenuHitTester} and with the linear scan over the wedges it
+ * replaced. Half of the touches are aimed at each ring, spread as set by the
+ * distribution.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+
+	private static final int TOUCH_QTY = 1024;
+	private static final float X = 240, Y = 400;
+	private static final int CENTER_RADIUS = 40;
+	private static final int INNER_MIN = 60, INNER_MAX = 120;
+	private static final int OUTER_MIN = 122, OUTER_MAX = 200;
+
+	@Param({ "4", "8", "16", "64", "256" })
+	public int wedgeQty;
+
+	@Param
+	public TouchDistribution distribution;
+
+	private final double[] touchX = new double[TOUCH_QTY];
+	private final double[] touchY = new double[TOUCH_QTY];
+	private RadialMenuHitTester hitTester;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(2012);
+		double start = Math.toDegrees(RadialGeometry.firstWedgeStart(wedgeQty));
+		double sweep = 360.0 / wedgeQty;
+		distribution.fill(random, X, Y, INNER_MIN, INNER_MAX, start, sweep, wedgeQty,
+				touchX, touchY, 0, TOUCH_QTY / 2);
+		distribution.fill(random, X, Y, OUTER_MIN, OUTER_MAX, start, sweep, wedgeQty,
+				touchX, touchY, TOUCH_QTY / 2, TOUCH_QTY);
+		hitTester = new RadialMenuHitTester();
+		hitTester.setCenter(X, Y);
+		hitTester.setCenterRadius(CENTER_RADIUS);
+		hitTester.setInnerRing(INNER_MIN, INNER_MAX, wedgeQty);
+		hitTester.setOuterRing(OUTER_MIN, OUTER_MAX, wedgeQty);
+	}
+
+	@Benchmark
+	public void hitTester(Blackhole bh) {
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			hitTester.locate(touchX[i], touchY[i]);
+			bh.consume(hitTester.getInnerWedge());
+			bh.consume(hitTester.getOuterWedge());
+		}
+	}
+
+	@Benchmark
+	public void linearScan(Blackhole bh) {
+		double slice = RadialGeometry.TWO_PI / wedgeQty;
+		double start = RadialGeometry.firstWedgeStart(wedgeQty);
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			bh.consume(scan(touchX[i], touchY[i], INNER_MIN, INNER_MAX, start, slice));
+			bh.consume(scan(touchX[i], touchY[i], OUTER_MIN, OUTER_MAX, start, slice));
+		}
+	}
+
+	private int scan(double x, double y, int innerRadius, int outerRadius,
+			double start, double slice) {
+		for (int i = 0; i < wedgeQty; i++) {
+			if (RadialGeometry.pointInWedge(x, y, X, Y, innerRadius, outerRadius,
+					(i * slice) + start, slice))
+				return i;
+		}
+		return RadialMenuHitTester.NO_WEDGE;
+	}
+}
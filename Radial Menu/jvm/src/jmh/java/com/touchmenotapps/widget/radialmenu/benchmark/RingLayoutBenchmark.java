@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+import com.touchmenotapps.widget.radialmenu.menu.v1.RadialMenuHitTester;
+
+/**
+ * Measures the framework free part of laying out a ring: the wedge angles,
+ * the icon centers, the wedge bounds and the hit tester set up, as done for
+ * the inner and outer rings of the v1 menu. Building the wedge paths and
+ * measuring the labels needs the Android framework and is not covered.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingLayoutBenchmark {
+
+	private static final float X = 240, Y = 400;
+	private static final int MIN_SIZE = 60, MAX_SIZE = 120;
+
+	@Param({ "4", "8", "16", "64", "256" })
+	public int wedgeQty;
+
+	private final float[] bounds = new float[4];
+	private final RadialMenuHitTester hitTester = new RadialMenuHitTester();
+
+	@Benchmark
+	public void layoutRing(Blackhole bh) {
+		float sweep = RadialGeometry.wedgeSweepDegrees(wedgeQty);
+		for (int i = 0; i < wedgeQty; i++) {
+			float start = RadialGeometry.wedgeStartDegrees(i, wedgeQty);
+			RadialGeometry.sectorBounds(X, Y, MIN_SIZE, MAX_SIZE, start, sweep,
+					bounds);
+			bh.consume(bounds);
+
+			double iconAngle = RadialGeometry.wedgeCenterAngle(i, wedgeQty);
+			bh.consume((float) (Math.cos(iconAngle) * (MAX_SIZE + MIN_SIZE) / 2) + X);
+			bh.consume((float) (Math.sin(iconAngle) * (MAX_SIZE + MIN_SIZE) / 2) + Y);
+		}
+		hitTester.setCenter(X, Y);
+		hitTester.setInnerRing(MIN_SIZE, MAX_SIZE, wedgeQty);
+		bh.consume(hitTester);
+	}
+}
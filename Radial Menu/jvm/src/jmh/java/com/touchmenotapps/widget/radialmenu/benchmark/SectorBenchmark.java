@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+/**
+ * Measures locating a batch of touches on the v2 menu ring. The v2
+ * RadialMenuHelperFunctions.angle and distance return
+ * {@link RadialGeometry#sectorPosition} and the square root of
+ * {@link RadialGeometry#distanceSquared}, while the view itself uses
+ * {@link RadialGeometry#sectorAt}.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectorBenchmark {
+
+	private static final int TOUCH_QTY = 1024;
+	private static final float X = 240, Y = 400;
+	private static final float RADIUS = 100, THICKNESS = 60;
+
+	@Param({ "4", "8", "16", "64", "256" })
+	public int items;
+
+	@Param
+	public TouchDistribution distribution;
+
+	private final float[] touchX = new float[TOUCH_QTY];
+	private final float[] touchY = new float[TOUCH_QTY];
+
+	@Setup
+	public void setup() {
+		double[] xs = new double[TOUCH_QTY];
+		double[] ys = new double[TOUCH_QTY];
+		distribution.fill(new Random(2012), X, Y, RADIUS - THICKNESS / 2,
+				RADIUS + THICKNESS / 2, RadialGeometry.sectorStartDegrees(0, items, false),
+				RadialGeometry.sectorSweepDegrees(items), items, xs, ys, 0, TOUCH_QTY);
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			touchX[i] = (float) xs[i];
+			touchY[i] = (float) ys[i];
+		}
+	}
+
+	/**
+	 * The helper functions angle and distance, one call of each per touch.
+	 */
+	@Benchmark
+	public void angleAndDistance(Blackhole bh) {
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			bh.consume(RadialGeometry.sectorPosition(X, Y, touchX[i], touchY[i], false, items));
+			bh.consume((float) Math.sqrt(RadialGeometry.distanceSquared(X, Y, touchX[i],
+					touchY[i])));
+		}
+	}
+
+	@Benchmark
+	public void sectorAt(Blackhole bh) {
+		float inner = RADIUS - THICKNESS / 2;
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			bh.consume(RadialGeometry.sectorAt(X, Y, touchX[i], touchY[i], inner, false, items));
+		}
+	}
+}
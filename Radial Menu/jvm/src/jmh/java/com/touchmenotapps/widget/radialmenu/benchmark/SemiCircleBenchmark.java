@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+/**
+ * Measures locating a batch of touches on the semi-circular menu, opening
+ * upwards from the bottom of the view. The polar hit test of
+ * {@link RadialGeometry#halfRingSector} is compared with the bounding rect
+ * checks over all the items the menu did before.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemiCircleBenchmark {
+
+	private static final int TOUCH_QTY = 1024;
+	private static final float X = 240, Y = 800;
+	private static final float RADIUS = 240, BUTTON_RADIUS = RADIUS / 3;
+	private static final float START = 180;
+
+	@Param({ "4", "8", "16", "64", "256" })
+	public int items;
+
+	@Param
+	public TouchDistribution distribution;
+
+	private final double[] touchX = new double[TOUCH_QTY];
+	private final double[] touchY = new double[TOUCH_QTY];
+	private float[][] itemBounds;
+
+	@Setup
+	public void setup() {
+		float sweep = RadialGeometry.halfRingSweepDegrees(items);
+		distribution.fill(new Random(2012), X, Y, BUTTON_RADIUS, RADIUS, START, sweep,
+				items, touchX, touchY, 0, TOUCH_QTY);
+		itemBounds = new float[items][4];
+		for (int i = 0; i < items; i++) {
+			RadialGeometry.sectorBounds(X, Y, BUTTON_RADIUS, RADIUS, START + sweep * i,
+					sweep, itemBounds[i]);
+		}
+	}
+
+	@Benchmark
+	public void halfRingSector(Blackhole bh) {
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			bh.consume(RadialGeometry.halfRingSector(touchX[i], touchY[i], X, Y,
+					BUTTON_RADIUS, RADIUS, START, items));
+		}
+	}
+
+	@Benchmark
+	public void boundsScan(Blackhole bh) {
+		for (int i = 0; i < TOUCH_QTY; i++) {
+			bh.consume(scan(touchX[i], touchY[i]));
+		}
+	}
+
+	private int scan(double x, double y) {
+		// The menu rect first, then the bounds of each item
+		if (x < X - RADIUS || x >= X + RADIUS || y < Y - RADIUS || y >= Y + RADIUS)
+			return RadialGeometry.NO_SECTOR;
+		for (int i = 0; i < items; i++) {
+			float[] b = itemBounds[i];
+			if (x >= b[0] && x < b[2] && y >= b[1] && y < b[3])
+				return i;
+		}
+		return RadialGeometry.NO_SECTOR;
+	}
+}
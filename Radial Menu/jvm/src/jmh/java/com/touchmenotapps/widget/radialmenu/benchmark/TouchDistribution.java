@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.benchmark;
+
+import java.util.Random;
+
+/**
+ * Where the benchmarked touches land on a ring of equal sectors. The ring
+ * can be a full circle or an arc, as the semi-circular menu.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public enum TouchDistribution {
+
+	/** Anywhere in the square around the ring. */
+	UNIFORM,
+	/** On the circle through the middle of the ring. */
+	RING_CENTRED,
+	/** Within half a degree of the border between two sectors. */
+	NEAR_BORDER,
+	/** Nine touches out of ten off the ring, the rest on it. */
+	MOSTLY_MISS,
+	/** Past the outer radius of the ring. */
+	OUTSIDE_RING;
+
+	private static final double BORDER_DEGREES = 0.5;
+
+	/**
+	 * Fills touch locations for a ring.
+	 * @param random - Source of the locations.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param innerRadius - Inner radius of the ring.
+	 * @param outerRadius - Outer radius of the ring.
+	 * @param startDegrees - Start of the first sector, clockwise from 3 o'clock.
+	 * @param sweepDegrees - Sweep of each sector.
+	 * @param sectors - Number of sectors.
+	 * @param xs - Receives the X locations.
+	 * @param ys - Receives the Y locations.
+	 * @param from - First index to fill.
+	 * @param to - Index after the last one to fill.
+	 */
+	public void fill(Random random, double centerX, double centerY, double innerRadius,
+			double outerRadius, double startDegrees, double sweepDegrees, int sectors,
+			double[] xs, double[] ys, int from, int to) {
+		double arc = sweepDegrees * sectors;
+		for (int i = from; i < to; i++) {
+			double radius;
+			double angle;
+			switch (this) {
+			case RING_CENTRED:
+				radius = (innerRadius + outerRadius) / 2;
+				angle = startDegrees + random.nextDouble() * arc;
+				break;
+			case NEAR_BORDER:
+				radius = innerRadius + random.nextDouble() * (outerRadius - innerRadius);
+				angle = startDegrees + sweepDegrees * random.nextInt(sectors + 1)
+						+ (random.nextDouble() * 2 - 1) * BORDER_DEGREES;
+				break;
+			case MOSTLY_MISS:
+				if (random.nextInt(10) == 0) {
+					radius = innerRadius + random.nextDouble() * (outerRadius - innerRadius);
+					angle = startDegrees + random.nextDouble() * arc;
+				} else {
+					// In the hole or past the ring
+					radius = random.nextBoolean() ? random.nextDouble() * innerRadius
+							: outerRadius * (1 + random.nextDouble());
+					angle = random.nextDouble() * 360;
+				}
+				break;
+			case OUTSIDE_RING:
+				radius = outerRadius * (1 + random.nextDouble());
+				angle = random.nextDouble() * 360;
+				break;
+			default:
+				xs[i] = centerX + (random.nextDouble() * 2 - 1) * outerRadius;
+				ys[i] = centerY + (random.nextDouble() * 2 - 1) * outerRadius;
+				continue;
+			}
+			xs[i] = centerX + radius * Math.cos(Math.toRadians(angle));
+			ys[i] = centerY + radius * Math.sin(Math.toRadians(angle));
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the angle, ring layout and hit test math of {@link RadialGeometry}.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialGeometryTest {
+
+	private static final double EPSILON = 1e-6;
+
+	@Test
+	public void distanceSquared() {
+		assertEquals(25, RadialGeometry.distanceSquared(1, 1, 4, 5), EPSILON);
+		assertEquals(0, RadialGeometry.distanceSquared(3, 3, 3, 3), EPSILON);
+	}
+
+	@Test
+	public void angleGrowsClockwiseFromThreeOClock() {
+		assertEquals(0, RadialGeometry.angle(0, 0, 10, 0), EPSILON);
+		assertEquals(Math.PI / 2, RadialGeometry.angle(0, 0, 0, 10), EPSILON);
+		assertEquals(Math.PI, RadialGeometry.angle(0, 0, -10, 0), EPSILON);
+		// Points above the center are not negative
+		assertEquals(Math.PI * 1.5, RadialGeometry.angle(0, 0, 0, -10), EPSILON);
+	}
+
+	@Test
+	public void angleInWedgeIsInclusive() {
+		assertTrue(RadialGeometry.angleInWedge(1.0, 1.0, 0.5));
+		assertTrue(RadialGeometry.angleInWedge(1.5, 1.0, 0.5));
+		assertFalse(RadialGeometry.angleInWedge(1.6, 1.0, 0.5));
+		assertFalse(RadialGeometry.angleInWedge(0.9, 1.0, 0.5));
+	}
+
+	@Test
+	public void angleInWedgeWrapsAroundZero() {
+		// Wedge from 350 to 10 degrees
+		double start = Math.toRadians(350);
+		double sweep = Math.toRadians(20);
+		assertTrue(RadialGeometry.angleInWedge(Math.toRadians(355), start, sweep));
+		assertTrue(RadialGeometry.angleInWedge(Math.toRadians(5), start, sweep));
+		assertFalse(RadialGeometry.angleInWedge(Math.toRadians(15), start, sweep));
+		// A start past a full turn is brought back
+		assertTrue(RadialGeometry.angleInWedge(Math.toRadians(5), start
+				+ RadialGeometry.TWO_PI, sweep));
+	}
+
+	@Test
+	public void inRingIsExclusive() {
+		assertTrue(RadialGeometry.inRing(15 * 15, 10, 20));
+		assertFalse(RadialGeometry.inRing(10 * 10, 10, 20));
+		assertFalse(RadialGeometry.inRing(20 * 20, 10, 20));
+		assertFalse(RadialGeometry.inRing(5 * 5, 10, 20));
+	}
+
+	@Test
+	public void pointInWedge() {
+		double start = RadialGeometry.firstWedgeStart(4);
+		double sweep = RadialGeometry.TWO_PI / 4;
+		// The first wedge is centered on top of the circle
+		assertTrue(RadialGeometry.pointInWedge(100, 85, 100, 100, 10, 20, start, sweep));
+		assertFalse(RadialGeometry.pointInWedge(100, 115, 100, 100, 10, 20, start, sweep));
+		assertFalse(RadialGeometry.pointInWedge(100, 75, 100, 100, 10, 20, start, sweep));
+	}
+
+	@Test
+	public void firstWedgeIsCenteredOnTop() {
+		for (int qty = 1; qty <= 16; qty++) {
+			double start = RadialGeometry.firstWedgeStart(qty);
+			assertEquals(Math.PI * 1.5, start + (RadialGeometry.TWO_PI / qty) / 2, EPSILON);
+			assertEquals(Math.PI * 1.5, RadialGeometry.wedgeCenterAngle(0, qty), EPSILON);
+		}
+	}
+
+	@Test
+	public void wedgeDegreesCoverTheRing() {
+		assertEquals(90, RadialGeometry.wedgeSweepDegrees(4), EPSILON);
+		assertEquals(225, RadialGeometry.wedgeStartDegrees(0, 4), EPSILON);
+		assertEquals(315, RadialGeometry.wedgeStartDegrees(1, 4), EPSILON);
+		assertEquals(495, RadialGeometry.wedgeStartDegrees(3, 4), EPSILON);
+		// Sweeps are rounded down to whole degrees
+		assertEquals(51, RadialGeometry.wedgeSweepDegrees(7), EPSILON);
+	}
+
+	@Test
+	public void wedgeCenterAngleFollowsClockwise() {
+		assertEquals(Math.PI * 2, RadialGeometry.wedgeCenterAngle(1, 4), EPSILON);
+		assertEquals(Math.PI * 2.5, RadialGeometry.wedgeCenterAngle(2, 4), EPSILON);
+	}
+
+	@Test
+	public void halfRingSweepIsNotRounded() {
+		assertEquals(60, RadialGeometry.halfRingSweepDegrees(3), EPSILON);
+		assertEquals(180f / 7, RadialGeometry.halfRingSweepDegrees(7), EPSILON);
+	}
+
+	@Test
+	public void halfRingSectorFollowsClockwiseFromTheStart() {
+		// Half ring opening upwards, as the menu at the bottom of the screen
+		assertEquals(0, RadialGeometry.halfRingSector(-60, -10, 0, 0, 20, 100, 180, 3));
+		assertEquals(1, RadialGeometry.halfRingSector(0, -60, 0, 0, 20, 100, 180, 3));
+		assertEquals(2, RadialGeometry.halfRingSector(60, -10, 0, 0, 20, 100, 180, 3));
+	}
+
+	@Test
+	public void halfRingSectorWrapsAroundZero() {
+		// Half ring opening to the right, as the menu on the left of the screen
+		assertEquals(0, RadialGeometry.halfRingSector(10, -60, 0, 0, 20, 100, 270, 2));
+		assertEquals(1, RadialGeometry.halfRingSector(60, 0, 0, 0, 20, 100, 270, 2));
+		assertEquals(1, RadialGeometry.halfRingSector(10, 60, 0, 0, 20, 100, 270, 2));
+	}
+
+	@Test
+	public void halfRingSectorMissesOutsideTheArc() {
+		// Other half of the circle
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.halfRingSector(0, 60, 0, 0, 20, 100, 180, 3));
+		// Inside the center button
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.halfRingSector(0, -10, 0, 0, 20, 100, 180, 3));
+		// Inside the bounding rect of the first sector but past the arc
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.halfRingSector(-95, -95, 0, 0, 20, 100, 180, 3));
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.halfRingSector(0, -60, 0, 0, 20, 100, 180, 0));
+	}
+
+	@Test
+	public void sectorPositionStartsAtTwelveOClock() {
+		assertEquals(0, RadialGeometry.sectorPosition(0, 0, 0, -10, false, 4), EPSILON);
+		assertEquals(1, RadialGeometry.sectorPosition(0, 0, 10, 0, false, 4), EPSILON);
+		assertEquals(2, RadialGeometry.sectorPosition(0, 0, 0, 10, false, 4), EPSILON);
+		assertEquals(3.5, RadialGeometry.sectorPosition(0, 0, -10, -10, false, 4), EPSILON);
+	}
+
+	@Test
+	public void sectorPositionAltIsCenteredOnTwelveOClock() {
+		assertEquals(0.5, RadialGeometry.sectorPosition(0, 0, 0, -10, true, 4), EPSILON);
+		assertEquals(1.5, RadialGeometry.sectorPosition(0, 0, 10, 0, true, 4), EPSILON);
+	}
+
+	@Test
+	public void sectorSweepIsNotRounded() {
+		assertEquals(90, RadialGeometry.sectorSweepDegrees(4), EPSILON);
+		assertEquals(360f / 7, RadialGeometry.sectorSweepDegrees(7), EPSILON);
+		assertEquals(0, RadialGeometry.sectorSweepDegrees(0), EPSILON);
+		assertEquals(-90 + 360f / 7 * 3, RadialGeometry.sectorStartDegrees(3, 7, false), 1e-4);
+		assertEquals(-90 - 180f / 7, RadialGeometry.sectorStartDegrees(0, 7, true), 1e-4);
+	}
+
+	@Test
+	public void sectorPositionUsesTheDrawnBoundaries() {
+		// At 7 sectors a whole degree sweep would drift by 3 degrees
+		float sweep = 360f / 7;
+		float[] point = new float[2];
+		RadialGeometry.pointOnCircle(0, 0, 50, -90 + sweep * 6.5f, point);
+		assertEquals(6.5, RadialGeometry.sectorPosition(0, 0, point[0], point[1], false, 7), 1e-3);
+	}
+
+	@Test
+	public void sectorAtMatchesTheDrawnSectors() {
+		float[] point = new float[2];
+		for (int items = 1; items <= 64; items++) {
+			float sweep = RadialGeometry.sectorSweepDegrees(items);
+			for (int alt = 0; alt < 2; alt++) {
+				for (int i = 0; i < items; i++) {
+					float start = RadialGeometry.sectorStartDegrees(i, items, alt == 1);
+					float[] angles = { start + 0.01f, start + sweep / 2, start + sweep - 0.01f };
+					for (float angle : angles) {
+						RadialGeometry.pointOnCircle(100, 100, 80, angle, point);
+						assertEquals(i, RadialGeometry.sectorAt(100, 100, point[0], point[1],
+								40, alt == 1, items));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void sectorAtMissesTheHoleAndEmptyRings() {
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.sectorAt(0, 0, 0, -30, 40, false, 4));
+		assertEquals(RadialGeometry.NO_SECTOR,
+				RadialGeometry.sectorAt(0, 0, 0, -80, 40, false, 0));
+		// Past the ring still selects the sector in that direction
+		assertEquals(1, RadialGeometry.sectorAt(0, 0, 500, 0, 40, false, 4));
+		// Without a hole the center belongs to a sector
+		assertEquals(0, RadialGeometry.sectorAt(0, 0, 0, -1, 0, false, 4));
+	}
+
+	@Test
+	public void pointOnCircle() {
+		float[] point = new float[2];
+		RadialGeometry.pointOnCircle(10, 20, 5, 90, point);
+		assertEquals(10, point[0], 1e-4);
+		assertEquals(25, point[1], 1e-4);
+		RadialGeometry.pointOnCircle(10, 20, 5, 180, point);
+		assertEquals(5, point[0], 1e-4);
+		assertEquals(20, point[1], 1e-4);
+	}
+
+	@Test
+	public void angleABCIsInWholeDegrees() {
+		assertEquals(180, RadialGeometry.angleABC(0, 0, 10, 0, 20, 0));
+		assertEquals(270, RadialGeometry.angleABC(0, 0, 10, 0, 10, 10));
+		assertEquals(90, RadialGeometry.angleABC(0, 0, 10, 0, 10, -10));
+	}
+
+	@Test
+	public void sectorBoundsIncludeTheArcBulge() {
+		float[] bounds = new float[4];
+		RadialGeometry.sectorBounds(0, 0, 10, 20, 0, 90, bounds);
+		assertBounds(0, 0, 20, 20, bounds);
+
+		// Crosses 12 o'clock, where the outer arc is highest
+		RadialGeometry.sectorBounds(0, 0, 10, 20, 225, 90, bounds);
+		float diagonal = (float) (20 * Math.sqrt(0.5));
+		float innerDiagonal = (float) (10 * Math.sqrt(0.5));
+		assertBounds(-diagonal, -20, diagonal, -innerDiagonal, bounds);
+	}
+
+	private static void assertBounds(float left, float top, float right,
+			float bottom, float[] bounds) {
+		assertEquals(left, bounds[0], 1e-4);
+		assertEquals(top, bounds[1], 1e-4);
+		assertEquals(right, bounds[2], 1e-4);
+		assertEquals(bottom, bounds[3], 1e-4);
+	}
+}
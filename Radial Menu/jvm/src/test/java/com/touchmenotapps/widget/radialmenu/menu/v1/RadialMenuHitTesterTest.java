@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+/**
+ * Tests {@link RadialMenuHitTester} against a linear scan over the wedges,
+ * which is how the menu located touches before the hit tester.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuHitTesterTest {
+
+	private static final float X = 240, Y = 400;
+	private static final int CENTER_RADIUS = 40;
+	private static final int INNER_MIN = 60, INNER_MAX = 120;
+	private static final int OUTER_MIN = 122, OUTER_MAX = 200;
+
+	private RadialMenuHitTester newHitTester(int innerQty, int outerQty) {
+		RadialMenuHitTester hitTester = new RadialMenuHitTester();
+		hitTester.setCenter(X, Y);
+		hitTester.setCenterRadius(CENTER_RADIUS);
+		hitTester.setInnerRing(INNER_MIN, INNER_MAX, innerQty);
+		hitTester.setOuterRing(OUTER_MIN, OUTER_MAX, outerQty);
+		return hitTester;
+	}
+
+	@Test
+	public void locatesTheCenterCircle() {
+		RadialMenuHitTester hitTester = newHitTester(6, 0);
+		hitTester.locate(X + 10, Y - 10);
+		assertTrue(hitTester.isInCenter());
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getInnerWedge());
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getOuterWedge());
+	}
+
+	@Test
+	public void firstWedgeIsOnTopAndWedgesFollowClockwise() {
+		RadialMenuHitTester hitTester = newHitTester(4, 0);
+		hitTester.locate(X, Y - 90);
+		assertEquals(0, hitTester.getInnerWedge());
+		hitTester.locate(X + 90, Y);
+		assertEquals(1, hitTester.getInnerWedge());
+		hitTester.locate(X, Y + 90);
+		assertEquals(2, hitTester.getInnerWedge());
+		hitTester.locate(X - 90, Y);
+		assertEquals(3, hitTester.getInnerWedge());
+	}
+
+	@Test
+	public void pointsOutsideTheRingsHitNothing() {
+		RadialMenuHitTester hitTester = newHitTester(5, 9);
+		hitTester.locate(X + 300, Y);
+		assertFalse(hitTester.isInCenter());
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getInnerWedge());
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getOuterWedge());
+		// The gap between the centre circle and the inner ring
+		hitTester.locate(X, Y - 50);
+		assertFalse(hitTester.isInCenter());
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getInnerWedge());
+	}
+
+	@Test
+	public void emptyOuterRingHitsNothing() {
+		RadialMenuHitTester hitTester = newHitTester(5, 0);
+		hitTester.locate(X, Y - 150);
+		assertEquals(RadialMenuHitTester.NO_WEDGE, hitTester.getOuterWedge());
+	}
+
+	@Test
+	public void matchesALinearScan() {
+		Random random = new Random(2012);
+		for (int qty = 1; qty <= 64; qty++) {
+			RadialMenuHitTester hitTester = newHitTester(qty, qty + 3);
+			for (int n = 0; n < 2000; n++) {
+				double x = X + (random.nextDouble() * 2 - 1) * OUTER_MAX;
+				double y = Y + (random.nextDouble() * 2 - 1) * OUTER_MAX;
+				hitTester.locate(x, y);
+				assertEquals(scan(x, y, INNER_MIN, INNER_MAX, qty),
+						hitTester.getInnerWedge());
+				assertEquals(scan(x, y, OUTER_MIN, OUTER_MAX, qty + 3),
+						hitTester.getOuterWedge());
+			}
+		}
+	}
+
+	@Test
+	public void matchesALinearScanOnWedgeBorders() {
+		for (int qty = 1; qty <= 64; qty++) {
+			RadialMenuHitTester hitTester = newHitTester(qty, 0);
+			double slice = RadialGeometry.TWO_PI / qty;
+			double radius = (INNER_MIN + INNER_MAX) / 2;
+			for (int i = 0; i < qty; i++) {
+				double angle = RadialGeometry.firstWedgeStart(qty) + slice * i;
+				double x = X + Math.cos(angle) * radius;
+				double y = Y + Math.sin(angle) * radius;
+				hitTester.locate(x, y);
+				assertEquals(scan(x, y, INNER_MIN, INNER_MAX, qty),
+						hitTester.getInnerWedge());
+			}
+		}
+	}
+
+	/**
+	 * Locates a point by checking every wedge in order.
+	 */
+	private static int scan(double x, double y, int innerRadius,
+			int outerRadius, int qty) {
+		double slice = RadialGeometry.TWO_PI / qty;
+		double start = RadialGeometry.firstWedgeStart(qty);
+		for (int i = 0; i < qty; i++) {
+			if (RadialGeometry.pointInWedge(x, y, X, Y, innerRadius, outerRadius,
+					(i * slice) + start, slice))
+				return i;
+		}
+		return RadialMenuHitTester.NO_WEDGE;
+	}
+}
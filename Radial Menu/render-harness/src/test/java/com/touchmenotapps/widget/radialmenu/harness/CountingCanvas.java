@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.harness;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Software canvas that counts the draw calls made on it. Overloads that pass
+ * the call on to another draw method are counted once, so the count is the
+ * number of draw calls the widget made, whatever the framework version.
+ * <p>
+ * The Robolectric canvas has no native save stack, so the save count is
+ * kept here for the widgets that restore to it.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class CountingCanvas extends Canvas {
+
+	private int mDrawCalls = 0;
+	private int mDepth = 0;
+	private int mSaveCount = 1;
+
+	/**
+	 * @param bitmap - Mutable bitmap to draw into.
+	 */
+	public CountingCanvas(Bitmap bitmap) {
+		super(bitmap);
+	}
+
+	/**
+	 * @return Number of draw calls since the last reset.
+	 */
+	public int getDrawCalls() {
+		return mDrawCalls;
+	}
+
+	public void resetDrawCalls() {
+		mDrawCalls = 0;
+	}
+
+	@Override
+	public int save() {
+		super.save();
+		return mSaveCount++;
+	}
+
+	@Override
+	public void restore() {
+		if (mSaveCount <= 1)
+			throw new IllegalStateException("Underflow in restore");
+		super.restore();
+		mSaveCount--;
+	}
+
+	@Override
+	public int getSaveCount() {
+		return mSaveCount;
+	}
+
+	@Override
+	public void restoreToCount(int saveCount) {
+		if (saveCount < 1 || saveCount > mSaveCount)
+			throw new IllegalArgumentException("Bad restoreToCount " + saveCount);
+		while (mSaveCount > saveCount) {
+			restore();
+		}
+	}
+
+	private void enter() {
+		if (mDepth++ == 0)
+			mDrawCalls++;
+	}
+
+	private void exit() {
+		mDepth--;
+	}
+
+	@Override
+	public void drawARGB(int a, int r, int g, int b) {
+		enter();
+		super.drawARGB(a, r, g, b);
+		exit();
+	}
+
+	@Override
+	public void drawRGB(int r, int g, int b) {
+		enter();
+		super.drawRGB(r, g, b);
+		exit();
+	}
+
+	@Override
+	public void drawColor(int color) {
+		enter();
+		super.drawColor(color);
+		exit();
+	}
+
+	@Override
+	public void drawColor(int color, PorterDuff.Mode mode) {
+		enter();
+		super.drawColor(color, mode);
+		exit();
+	}
+
+	@Override
+	public void drawPaint(Paint paint) {
+		enter();
+		super.drawPaint(paint);
+		exit();
+	}
+
+	@Override
+	public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter,
+			Paint paint) {
+		enter();
+		super.drawArc(oval, startAngle, sweepAngle, useCenter, paint);
+		exit();
+	}
+
+	@Override
+	public void drawArc(float left, float top, float right, float bottom, float startAngle,
+			float sweepAngle, boolean useCenter, Paint paint) {
+		enter();
+		super.drawArc(left, top, right, bottom, startAngle, sweepAngle, useCenter, paint);
+		exit();
+	}
+
+	@Override
+	public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+		enter();
+		super.drawBitmap(bitmap, left, top, paint);
+		exit();
+	}
+
+	@Override
+	public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+		enter();
+		super.drawBitmap(bitmap, src, dst, paint);
+		exit();
+	}
+
+	@Override
+	public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+		enter();
+		super.drawBitmap(bitmap, src, dst, paint);
+		exit();
+	}
+
+	@Override
+	public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+		enter();
+		super.drawBitmap(bitmap, matrix, paint);
+		exit();
+	}
+
+	@Override
+	public void drawCircle(float cx, float cy, float radius, Paint paint) {
+		enter();
+		super.drawCircle(cx, cy, radius, paint);
+		exit();
+	}
+
+	@Override
+	public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+		enter();
+		super.drawLine(startX, startY, stopX, stopY, paint);
+		exit();
+	}
+
+	@Override
+	public void drawLines(float[] pts, Paint paint) {
+		enter();
+		super.drawLines(pts, paint);
+		exit();
+	}
+
+	@Override
+	public void drawLines(float[] pts, int offset, int count, Paint paint) {
+		enter();
+		super.drawLines(pts, offset, count, paint);
+		exit();
+	}
+
+	@Override
+	public void drawOval(RectF oval, Paint paint) {
+		enter();
+		super.drawOval(oval, paint);
+		exit();
+	}
+
+	@Override
+	public void drawOval(float left, float top, float right, float bottom, Paint paint) {
+		enter();
+		super.drawOval(left, top, right, bottom, paint);
+		exit();
+	}
+
+	@Override
+	public void drawPath(Path path, Paint paint) {
+		enter();
+		super.drawPath(path, paint);
+		exit();
+	}
+
+	@Override
+	public void drawPicture(Picture picture) {
+		enter();
+		super.drawPicture(picture);
+		exit();
+	}
+
+	@Override
+	public void drawPicture(Picture picture, Rect dst) {
+		enter();
+		super.drawPicture(picture, dst);
+		exit();
+	}
+
+	@Override
+	public void drawPicture(Picture picture, RectF dst) {
+		enter();
+		super.drawPicture(picture, dst);
+		exit();
+	}
+
+	@Override
+	public void drawPoint(float x, float y, Paint paint) {
+		enter();
+		super.drawPoint(x, y, paint);
+		exit();
+	}
+
+	@Override
+	public void drawPoints(float[] pts, Paint paint) {
+		enter();
+		super.drawPoints(pts, paint);
+		exit();
+	}
+
+	@Override
+	public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+		enter();
+		super.drawPoints(pts, offset, count, paint);
+		exit();
+	}
+
+	@Override
+	public void drawRect(Rect r, Paint paint) {
+		enter();
+		super.drawRect(r, paint);
+		exit();
+	}
+
+	@Override
+	public void drawRect(RectF rect, Paint paint) {
+		enter();
+		super.drawRect(rect, paint);
+		exit();
+	}
+
+	@Override
+	public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+		enter();
+		super.drawRect(left, top, right, bottom, paint);
+		exit();
+	}
+
+	@Override
+	public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+		enter();
+		super.drawRoundRect(rect, rx, ry, paint);
+		exit();
+	}
+
+	@Override
+	public void drawRoundRect(float left, float top, float right, float bottom, float rx,
+			float ry, Paint paint) {
+		enter();
+		super.drawRoundRect(left, top, right, bottom, rx, ry, paint);
+		exit();
+	}
+
+	@Override
+	public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+		enter();
+		super.drawText(text, index, count, x, y, paint);
+		exit();
+	}
+
+	@Override
+	public void drawText(String text, float x, float y, Paint paint) {
+		enter();
+		super.drawText(text, x, y, paint);
+		exit();
+	}
+
+	@Override
+	public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+		enter();
+		super.drawText(text, start, end, x, y, paint);
+		exit();
+	}
+
+	@Override
+	public void drawText(CharSequence text, int start, int end, float x, float y,
+			Paint paint) {
+		enter();
+		super.drawText(text, start, end, x, y, paint);
+		exit();
+	}
+
+	@Override
+	public void drawTextOnPath(char[] text, int index, int count, Path path, float hOffset,
+			float vOffset, Paint paint) {
+		enter();
+		super.drawTextOnPath(text, index, count, path, hOffset, vOffset, paint);
+		exit();
+	}
+
+	@Override
+	public void drawTextOnPath(String text, Path path, float hOffset, float vOffset,
+			Paint paint) {
+		enter();
+		super.drawTextOnPath(text, path, hOffset, vOffset, paint);
+		exit();
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.harness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.view.MotionEvent;
+
+/**
+ * Scripted touch input, one step per frame. A step is a touch event or an
+ * idle frame that only lets timers and animations run. The events are
+ * obtained once, so replaying the script does not allocate them again.
+ * <strong> Usage </strong>
+ *
+ * Gesture gesture = new Gesture()
+ *		.down(240, 400)
+ *		.dragAround(240, 400, 100, 90, 450, 24)
+ *		.up(240, 500)
+ *		.idle(10);
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class Gesture {
+
+	private final List<MotionEvent> mSteps = new ArrayList<MotionEvent>();
+	private long mTime = 0;
+	private long mDownTime = 0;
+	private float mX, mY;
+
+	/**
+	 * Puts the finger down.
+	 * @param x - Touch X location.
+	 * @param y - Touch Y location.
+	 * @return This gesture.
+	 */
+	public Gesture down(float x, float y) {
+		mDownTime = mTime;
+		return add(MotionEvent.ACTION_DOWN, x, y);
+	}
+
+	/**
+	 * Moves the finger in one event.
+	 * @param x - Touch X location.
+	 * @param y - Touch Y location.
+	 * @return This gesture.
+	 */
+	public Gesture move(float x, float y) {
+		return add(MotionEvent.ACTION_MOVE, x, y);
+	}
+
+	/**
+	 * Moves the finger in a straight line.
+	 * @param x - Final touch X location.
+	 * @param y - Final touch Y location.
+	 * @param events - Number of move events along the line.
+	 * @return This gesture.
+	 */
+	public Gesture dragTo(float x, float y, int events) {
+		float fromX = mX, fromY = mY;
+		for (int i = 1; i <= events; i++) {
+			move(fromX + (x - fromX) * i / events, fromY + (y - fromY) * i / events);
+		}
+		return this;
+	}
+
+	/**
+	 * Moves the finger along a circle.
+	 * @param centerX - Center X of the circle.
+	 * @param centerY - Center Y of the circle.
+	 * @param radius - Radius of the circle.
+	 * @param fromDegrees - Start angle, clockwise from 3 o'clock.
+	 * @param toDegrees - End angle, clockwise from 3 o'clock.
+	 * @param events - Number of move events along the arc.
+	 * @return This gesture.
+	 */
+	public Gesture dragAround(float centerX, float centerY, float radius, float fromDegrees,
+			float toDegrees, int events) {
+		for (int i = 1; i <= events; i++) {
+			double angle = Math.toRadians(fromDegrees + (toDegrees - fromDegrees) * i / events);
+			move(centerX + (float) (radius * Math.cos(angle)),
+					centerY + (float) (radius * Math.sin(angle)));
+		}
+		return this;
+	}
+
+	/**
+	 * Lifts the finger.
+	 * @param x - Touch X location.
+	 * @param y - Touch Y location.
+	 * @return This gesture.
+	 */
+	public Gesture up(float x, float y) {
+		return add(MotionEvent.ACTION_UP, x, y);
+	}
+
+	/**
+	 * Taps a point, a down and an up event.
+	 * @param x - Touch X location.
+	 * @param y - Touch Y location.
+	 * @return This gesture.
+	 */
+	public Gesture tap(float x, float y) {
+		return down(x, y).up(x, y);
+	}
+
+	/**
+	 * Lets frames pass without touch input.
+	 * @param frames - Number of frames.
+	 * @return This gesture.
+	 */
+	public Gesture idle(int frames) {
+		for (int i = 0; i < frames; i++) {
+			mSteps.add(null);
+			mTime += RenderHarness.FRAME_MILLIS;
+		}
+		return this;
+	}
+
+	/**
+	 * @return Number of frames of the gesture.
+	 */
+	int getFrameCount() {
+		return mSteps.size();
+	}
+
+	/**
+	 * @param frame - Index of the frame.
+	 * @return The touch event of the frame, or null for an idle frame.
+	 */
+	MotionEvent getEvent(int frame) {
+		return mSteps.get(frame);
+	}
+
+	private Gesture add(int action, float x, float y) {
+		mSteps.add(MotionEvent.obtain(mDownTime, mTime, action, x, y, 0));
+		mTime += RenderHarness.FRAME_MILLIS;
+		mX = x;
+		mY = y;
+		return this;
+	}
+}
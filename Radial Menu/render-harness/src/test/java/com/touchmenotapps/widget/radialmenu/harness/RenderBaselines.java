@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.harness;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * The checked in baselines of the render harness. Each gesture has a
+ * baseline for its wall time, allocated bytes and draw calls, and a
+ * measurement fails when it is over its baseline times the tolerance of the
+ * metric. The wall time is the noisiest, so it has the widest tolerance.
+ * <p>
+ * The file is given by the render.baselines system property. With
+ * render.updateBaselines set to true the measurements are written to it as
+ * the new baselines instead of being checked.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public final class RenderBaselines {
+
+	private static final String[] METRICS = { "wallNanos", "allocatedBytes", "drawCalls" };
+	private static final String[] DEFAULT_TOLERANCES = { "3.0", "1.25", "1.0" };
+
+	private RenderBaselines() {
+	}
+
+	/**
+	 * Checks a measurement against its baselines, or records it.
+	 * @param gesture - Name of the gesture, the key prefix of its baselines.
+	 * @param measurement - Measurement of the gesture.
+	 * @throws AssertionError if a metric is over its baseline, or the
+	 * gesture has no baselines yet.
+	 * @throws IOException if the baselines can not be read or written.
+	 */
+	public static synchronized void check(String gesture, RenderHarness.Measurement measurement)
+			throws IOException {
+		long[] values = { measurement.wallNanos, measurement.allocatedBytes,
+				measurement.drawCalls };
+		System.out.println("render " + gesture + ": " + values[0] / 1000 + " us, "
+				+ values[1] + " bytes, " + values[2] + " draw calls");
+		File file = new File(System.getProperty("render.baselines",
+				"src/test/resources/render-baselines.properties"));
+		Properties baselines = load(file);
+		if (Boolean.getBoolean("render.updateBaselines")) {
+			for (int i = 0; i < METRICS.length; i++) {
+				baselines.setProperty(gesture + "." + METRICS[i], String.valueOf(values[i]));
+			}
+			store(file, baselines);
+			return;
+		}
+		StringBuilder failures = new StringBuilder();
+		for (int i = 0; i < METRICS.length; i++) {
+			String baseline = baselines.getProperty(gesture + "." + METRICS[i]);
+			if (baseline == null)
+				throw new AssertionError("No baselines for " + gesture + " in " + file
+						+ ", record them with -Drender.updateBaselines=true");
+			double tolerance = Double.parseDouble(baselines.getProperty("tolerance."
+					+ METRICS[i], DEFAULT_TOLERANCES[i]));
+			long limit = (long) Math.ceil(Long.parseLong(baseline) * tolerance);
+			if (values[i] > limit) {
+				failures.append("\n  ").append(METRICS[i]).append(' ').append(values[i])
+						.append(" is over the baseline ").append(baseline)
+						.append(" x ").append(tolerance);
+			}
+		}
+		if (failures.length() > 0)
+			throw new AssertionError(gesture + " regressed:" + failures);
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties properties = new Properties();
+		if (file.exists()) {
+			InputStream in = new FileInputStream(file);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Writes the baselines sorted, tolerances first, so a new recording
+	 * only shows the changed values in a diff.
+	 */
+	private static void store(File file, Properties baselines) throws IOException {
+		for (int i = 0; i < METRICS.length; i++) {
+			if (baselines.getProperty("tolerance." + METRICS[i]) == null)
+				baselines.setProperty("tolerance." + METRICS[i], DEFAULT_TOLERANCES[i]);
+		}
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+		try {
+			out.write("# Render harness baselines, one run of each scripted gesture.\r\n");
+			out.write("# Recorded with mvn test -Drender.updateBaselines=true\r\n");
+			for (String key : new TreeSet<String>(baselines.stringPropertyNames())) {
+				if (key.startsWith("tolerance."))
+					out.write(key + "=" + baselines.getProperty(key) + "\r\n");
+			}
+			for (String key : new TreeSet<String>(baselines.stringPropertyNames())) {
+				if (!key.startsWith("tolerance."))
+					out.write(key + "=" + baselines.getProperty(key) + "\r\n");
+			}
+		} finally {
+			out.close();
+		}
+	}
+}
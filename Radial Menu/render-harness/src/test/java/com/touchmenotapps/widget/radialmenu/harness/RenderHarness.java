@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.harness;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.robolectric.Shadows;
+import org.robolectric.shadow.api.Shadow;
+import org.robolectric.shadows.ShadowLooper;
+
+import android.graphics.Bitmap;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * Plays a {@link Gesture} on a widget and measures it. Every frame delivers
+ * the touch event of the step, advances the clock by a frame so timers and
+ * animations run, and draws the widget to a software canvas if it is shown
+ * and was invalidated, as the framework would. The gesture is played a few
+ * times to warm up before the measured runs.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RenderHarness {
+
+	public static final long FRAME_MILLIS = 16;
+
+	private static final int WARMUP_RUNS = 50;
+	private static final int MEASURED_RUNS = 31;
+
+	/**
+	 * Receives the touch events of the gesture.
+	 */
+	public interface TouchTarget {
+		public void onTouch(MotionEvent event);
+	}
+
+	private final View mView;
+	private final View mRealView;
+	private final TouchTarget mTarget;
+	private final Bitmap mBitmap;
+	private final CountingCanvas mCanvas;
+	private final com.sun.management.ThreadMXBean mThreads;
+
+	/**
+	 * Lays the widget out at the given size.
+	 * @param view - Widget to draw.
+	 * @param target - Receives the touch events, usually the widget itself.
+	 * @param width - Width of the widget.
+	 * @param height - Height of the widget.
+	 */
+	public RenderHarness(View view, TouchTarget target, int width, int height) {
+		mView = view;
+		// The shadow of View.draw skips onDraw, so frames are drawn by the
+		// framework's own View.draw
+		mRealView = Shadow.directlyOn(view, View.class);
+		mTarget = target;
+		mView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+				View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+		mView.layout(0, 0, width, height);
+		mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+		mCanvas = new CountingCanvas(mBitmap);
+		// Only a drawn view tracks its invalidation
+		mRealView.draw(mCanvas);
+		mThreads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	}
+
+	/**
+	 * Plays the gesture until the measurements settle.
+	 * @param gesture - Gesture to play. It has to leave the widget in the
+	 * state it started in, so every run draws the same frames.
+	 * @return Median wall time, least allocated bytes and draw calls of a run.
+	 */
+	public Measurement measure(Gesture gesture) {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			play(gesture);
+		}
+		long[] wallNanos = new long[MEASURED_RUNS];
+		long[] allocatedBytes = new long[MEASURED_RUNS];
+		int drawCalls = 0;
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			mCanvas.resetDrawCalls();
+			long bytes = mThreads.getThreadAllocatedBytes(threadId);
+			long start = System.nanoTime();
+			play(gesture);
+			wallNanos[i] = System.nanoTime() - start;
+			allocatedBytes[i] = mThreads.getThreadAllocatedBytes(threadId) - bytes;
+			drawCalls = Math.max(drawCalls, mCanvas.getDrawCalls());
+		}
+		Arrays.sort(wallNanos);
+		Arrays.sort(allocatedBytes);
+		return new Measurement(wallNanos[MEASURED_RUNS / 2], allocatedBytes[0], drawCalls);
+	}
+
+	private void play(Gesture gesture) {
+		for (int frame = 0; frame < gesture.getFrameCount(); frame++) {
+			MotionEvent event = gesture.getEvent(frame);
+			if (event != null)
+				mTarget.onTouch(event);
+			ShadowLooper.idleMainLooper(FRAME_MILLIS, TimeUnit.MILLISECONDS);
+			if (mView.getVisibility() == View.VISIBLE && mView.isDirty()) {
+				// The canvas shadow keeps a history of the draw calls, which
+				// would grow with every frame
+				Shadows.shadowOf(mCanvas).resetCanvasHistory();
+				mRealView.draw(mCanvas);
+			}
+		}
+	}
+
+	/**
+	 * Cost of one run of a gesture.
+	 */
+	public static final class Measurement {
+		public final long wallNanos;
+		public final long allocatedBytes;
+		public final long drawCalls;
+
+		Measurement(long wallNanos, long allocatedBytes, long drawCalls) {
+			this.wallNanos = wallNanos;
+			this.allocatedBytes = allocatedBytes;
+			this.drawCalls = drawCalls;
+		}
+	}
+}
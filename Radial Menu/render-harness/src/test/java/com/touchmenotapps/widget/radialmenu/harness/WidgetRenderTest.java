@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.harness;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import com.touchmenotapps.widget.radialmenu.menu.v1.RadialMenuItem;
+import com.touchmenotapps.widget.radialmenu.menu.v1.RadialMenuWidget;
+import com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuRenderer;
+import com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuView;
+import com.touchmenotapps.widget.radialmenu.progress.widget.RadialProgressWidget;
+import com.touchmenotapps.widget.radialmenu.semicircularmenu.SemiCircularRadialMenu;
+import com.touchmenotapps.widget.radialmenu.semicircularmenu.SemiCircularRadialMenuItem;
+
+/**
+ * Plays an open, drag, select and close gesture on each widget and checks
+ * its cost against the render baselines. Each test also checks the gesture
+ * selected something, so a changed layout can not make a gesture cheaper by
+ * missing the menu.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 27)
+public class WidgetRenderTest {
+
+	private static final int WIDTH = 480, HEIGHT = 800;
+	private static final int X = WIDTH / 2, Y = HEIGHT / 2;
+
+	private int mSelections = 0;
+
+	@Test
+	public void radialMenuWidget() throws Exception {
+		Context context = RuntimeEnvironment.application;
+		final RadialMenuWidget menu = new RadialMenuWidget(context);
+		RadialMenuItem.RadialMenuItemClickListener listener = new RadialMenuItem.RadialMenuItemClickListener() {
+			@Override
+			public void execute() {
+				mSelections++;
+			}
+		};
+		List<RadialMenuItem> entries = new ArrayList<RadialMenuItem>();
+		for (int i = 0; i < 5; i++) {
+			RadialMenuItem entry = new RadialMenuItem("entry" + i, "Entry " + i);
+			List<RadialMenuItem> children = new ArrayList<RadialMenuItem>();
+			for (int c = 0; c < 3; c++) {
+				RadialMenuItem child = new RadialMenuItem("child" + i + c, "Child " + c);
+				child.setOnMenuItemPressed(listener);
+				children.add(child);
+			}
+			entry.setMenuChildren(children);
+			entries.add(entry);
+		}
+		menu.addMenuEntry(entries);
+		menu.setCenterCircle(new RadialMenuItem("close", "Close"));
+		menu.setDragSelection(true);
+		menu.setCenterLocation(X, Y);
+		RenderHarness harness = new RenderHarness(menu, new RenderHarness.TouchTarget() {
+			@Override
+			public void onTouch(MotionEvent event) {
+				menu.onTouchEvent(event);
+			}
+		}, WIDTH, HEIGHT);
+
+		// Sweeps the inner ring, drags out of the wedge it started on to open
+		// its submenu, lifts on a child, then taps the center circle
+		Gesture gesture = new Gesture()
+				.down(X, Y + 62)
+				.dragAround(X, Y, 62, 90, 450, 24)
+				.dragTo(X, Y + 118, 4)
+				.idle(10)
+				.up(X, Y + 118)
+				.idle(10)
+				.tap(X, Y)
+				.idle(2);
+		RenderBaselines.check("radialMenuWidget", harness.measure(gesture));
+		assertTrue("No child was selected", mSelections > 0);
+	}
+
+	@Test
+	public void radialMenuView() throws Exception {
+		Context context = RuntimeEnvironment.application;
+		final FrameLayout parent = new FrameLayout(context);
+		ArrayList<com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuItem> content =
+				new ArrayList<com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuItem>();
+		for (int i = 0; i < 6; i++) {
+			com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuItem item =
+					new com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuItem("option" + i,
+							"Option " + i);
+			item.setOnRadialMenuClickListener(new RadialMenuRenderer.OnRadailMenuClick() {
+				@Override
+				public void onRadailMenuClickedListener(String id) {
+					mSelections++;
+				}
+			});
+			content.add(item);
+		}
+		RadialMenuRenderer renderer = new RadialMenuRenderer(parent, false, 60, 100);
+		renderer.setRadialMenuContent(content);
+		RadialMenuView menu = (RadialMenuView) renderer.renderView();
+		RenderHarness harness = new RenderHarness(menu, new RenderHarness.TouchTarget() {
+			@Override
+			public void onTouch(MotionEvent event) {
+				// Through the listener the renderer set on the parent
+				parent.dispatchTouchEvent(event);
+			}
+		}, WIDTH, HEIGHT);
+
+		// Opens the menu, sweeps the ring once and lifts on an option, then
+		// opens it again and lifts in the middle to close it
+		Gesture gesture = new Gesture()
+				.down(X, Y)
+				.dragTo(X, Y - 100, 4)
+				.dragAround(X, Y, 100, 270, 630, 24)
+				.up(X, Y - 100)
+				.idle(2)
+				.down(X, Y)
+				.dragTo(X + 10, Y, 2)
+				.up(X + 10, Y)
+				.idle(2);
+		RenderBaselines.check("radialMenuView", harness.measure(gesture));
+		assertTrue("No option was selected", mSelections > 0);
+	}
+
+	@Test
+	public void semiCircularRadialMenu() throws Exception {
+		Context context = RuntimeEnvironment.application;
+		final SemiCircularRadialMenu menu = new SemiCircularRadialMenu(context);
+		SemiCircularRadialMenuItem.OnSemiCircularRadialMenuPressed callback =
+				new SemiCircularRadialMenuItem.OnSemiCircularRadialMenuPressed() {
+			@Override
+			public void onMenuItemPressed() {
+				mSelections++;
+			}
+		};
+		menu.setShowMenuText(true);
+		for (int i = 0; i < 4; i++) {
+			SemiCircularRadialMenuItem item = new SemiCircularRadialMenuItem("item" + i,
+					new ColorDrawable(Color.BLUE), "Item " + i);
+			item.setOnSemiCircularRadialMenuPressed(callback);
+			menu.addMenuItem("item" + i, item);
+		}
+		RenderHarness harness = new RenderHarness(menu, new RenderHarness.TouchTarget() {
+			@Override
+			public void onTouch(MotionEvent event) {
+				menu.onTouchEvent(event);
+			}
+		}, WIDTH, WIDTH);
+
+		// The menu opens upwards from the bottom of the view, between the
+		// toggle button and the edge of the view
+		float cy = WIDTH, radius = WIDTH / 3;
+		float firstX = X + (float) (radius * Math.cos(Math.toRadians(202.5)));
+		float firstY = cy + (float) (radius * Math.sin(Math.toRadians(202.5)));
+		float lastX = X + (float) (radius * Math.cos(Math.toRadians(337.5)));
+		float lastY = cy + (float) (radius * Math.sin(Math.toRadians(337.5)));
+		Gesture gesture = new Gesture()
+				.tap(X, cy - 10)
+				.idle(1)
+				.down(firstX, firstY)
+				.dragAround(X, cy, radius, 202.5f, 337.5f, 12)
+				.up(lastX, lastY)
+				.idle(1)
+				.tap(X, cy - 10)
+				.idle(1);
+		RenderBaselines.check("semiCircularRadialMenu", harness.measure(gesture));
+		assertTrue("No item was selected", mSelections > 0);
+	}
+
+	@Test
+	public void radialProgressWidget() throws Exception {
+		Context context = RuntimeEnvironment.application;
+		final RadialProgressWidget widget = new RadialProgressWidget(context);
+		widget.setSecondaryText("Score");
+		widget.setOnRadialViewValueChanged(new RadialProgressWidget.OnRadialViewValueChanged() {
+			@Override
+			public void onValueChanged(int value) {
+				mSelections++;
+			}
+		});
+		RenderHarness harness = new RenderHarness(widget, new RenderHarness.TouchTarget() {
+			@Override
+			public void onTouch(MotionEvent event) {
+				widget.onTouchEvent(event);
+			}
+		}, WIDTH, WIDTH);
+
+		// Drags the value from the top all the way round, then back to a
+		// quarter
+		float cx = WIDTH / 2, cy = WIDTH / 2, radius = WIDTH / 3;
+		Gesture gesture = new Gesture()
+				.down(cx, cy - radius)
+				.dragAround(cx, cy, radius, 270, 620, 48)
+				.dragAround(cx, cy, radius, 620, 360, 24)
+				.up(cx + radius, cy)
+				.idle(1);
+		RenderBaselines.check("radialProgressWidget", harness.measure(gesture));
+		assertTrue("The value did not change", mSelections > 0);
+	}
+}
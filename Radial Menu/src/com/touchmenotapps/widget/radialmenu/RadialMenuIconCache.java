@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Process wide cache of menu icons shared by all the radial menu widgets.
+ * Icons are keyed by resource ID, screen density and the min/max size the
+ * icon is clamped to, and the least recently used icons are evicted once
+ * the cache is full.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public final class RadialMenuIconCache {
+
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	private static final RadialMenuIconCache sInstance = new RadialMenuIconCache();
+
+	private int mMaxEntries = DEFAULT_MAX_ENTRIES;
+	private int mHitCount = 0;
+	private int mMissCount = 0;
+	private int mEvictionCount = 0;
+
+	private final LinkedHashMap<Key, Icon> mIcons = new LinkedHashMap<Key, Icon>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Icon> eldest) {
+			if (size() > mMaxEntries) {
+				mEvictionCount++;
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private RadialMenuIconCache() {
+	}
+
+	/**
+	 * @return The shared icon cache.
+	 */
+	public static RadialMenuIconCache getInstance() {
+		return sInstance;
+	}
+
+	/**
+	 * Get an icon from the cache, decoding it on a miss.
+	 * @param res - Resources to load the icon from.
+	 * @param iconId - Icon resource ID.
+	 * @param minSize - Minimum icon size in pixels.
+	 * @param maxSize - Maximum icon size in pixels.
+	 * @return The cached icon, or null if iconId is 0.
+	 */
+	public synchronized Icon get(Resources res, int iconId, int minSize, int maxSize) {
+		if (iconId == 0)
+			return null;
+		Key key = new Key(iconId, res.getDisplayMetrics().densityDpi, minSize, maxSize);
+		Icon icon = mIcons.get(key);
+		if (icon != null) {
+			mHitCount++;
+			return icon;
+		}
+		mMissCount++;
+		Drawable drawable = res.getDrawable(iconId).mutate();
+		icon = new Icon(drawable,
+				clamp(drawable.getIntrinsicWidth(), minSize, maxSize),
+				clamp(drawable.getIntrinsicHeight(), minSize, maxSize));
+		mIcons.put(key, icon);
+		return icon;
+	}
+
+	/**
+	 * Set the maximum number of cached icons. Icons over the limit are
+	 * evicted right away.
+	 * @param maxEntries - Maximum number of icons.
+	 */
+	public synchronized void setMaxEntries(int maxEntries) {
+		mMaxEntries = maxEntries;
+		while (mIcons.size() > mMaxEntries) {
+			Key eldest = mIcons.keySet().iterator().next();
+			mIcons.remove(eldest);
+			mEvictionCount++;
+		}
+	}
+
+	/**
+	 * @return the mMaxEntries
+	 */
+	public synchronized int getMaxEntries() {
+		return mMaxEntries;
+	}
+
+	/**
+	 * @return Number of icons currently cached.
+	 */
+	public synchronized int size() {
+		return mIcons.size();
+	}
+
+	/**
+	 * @return the mHitCount
+	 */
+	public synchronized int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * @return the mMissCount
+	 */
+	public synchronized int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * @return the mEvictionCount
+	 */
+	public synchronized int getEvictionCount() {
+		return mEvictionCount;
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public synchronized void resetStats() {
+		mHitCount = 0;
+		mMissCount = 0;
+		mEvictionCount = 0;
+	}
+
+	/**
+	 * Removes all the cached icons.
+	 */
+	public synchronized void clear() {
+		mIcons.clear();
+	}
+
+	private static int clamp(int iconSize, int minSize, int maxSize) {
+		if (iconSize > minSize) {
+			if (iconSize > maxSize) {
+				return maxSize;
+			} else { // iconSize < maxSize
+				return iconSize;
+			}
+		} else { // iconSize < minSize
+			return minSize;
+		}
+	}
+
+	/**
+	 * A cached icon along with its clamped size.
+	 */
+	public static final class Icon {
+		private final Drawable mDrawable;
+		private final int mWidth;
+		private final int mHeight;
+
+		private Icon(Drawable drawable, int width, int height) {
+			this.mDrawable = drawable;
+			this.mWidth = width;
+			this.mHeight = height;
+		}
+
+		/**
+		 * @return the mDrawable
+		 */
+		public Drawable getDrawable() {
+			return mDrawable;
+		}
+
+		/**
+		 * @return the clamped icon width
+		 */
+		public int getWidth() {
+			return mWidth;
+		}
+
+		/**
+		 * @return the clamped icon height
+		 */
+		public int getHeight() {
+			return mHeight;
+		}
+	}
+
+	private static final class Key {
+		private final int mIconId;
+		private final int mDensity;
+		private final int mMinSize;
+		private final int mMaxSize;
+
+		private Key(int iconId, int density, int minSize, int maxSize) {
+			this.mIconId = iconId;
+			this.mDensity = density;
+			this.mMinSize = minSize;
+			this.mMaxSize = maxSize;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key))
+				return false;
+			Key other = (Key) o;
+			return mIconId == other.mIconId && mDensity == other.mDensity
+					&& mMinSize == other.mMinSize && mMaxSize == other.mMaxSize;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = mIconId;
+			result = 31 * result + mDensity;
+			result = 31 * result + mMinSize;
+			result = 31 * result + mMaxSize;
+			return result;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu;
+
+import java.util.Arrays;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+/**
+ * Frame and interaction timings of a radial widget. A widget only records
+ * timings once a metrics object is set on it, and each timing is kept in a
+ * rolling window of the most recent samples that can be polled from any
+ * thread.
+ * <strong> Usage </strong>
+ *
+ * RadialMenuMetrics metrics = new RadialMenuMetrics();
+ * pieMenu.setMetrics(metrics);
+ * long drawTime = metrics.getHistogram(RadialMenuMetrics.METRIC_DRAW).getPercentile(90);
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public final class RadialMenuMetrics {
+
+	/** Time spent in onDraw. */
+	public static final int METRIC_DRAW = 0;
+	/** Time from a touch event to the end of the next drawn frame. */
+	public static final int METRIC_TOUCH_TO_FRAME = 1;
+	/** Time spent building the widget geometry. */
+	public static final int METRIC_LAYOUT = 2;
+	/** Time from showing the widget to the end of its first drawn frame. */
+	public static final int METRIC_SHOW_TO_FRAME = 3;
+	/** Time spent dismissing the widget. */
+	public static final int METRIC_DISMISS = 4;
+
+	public static final int DEFAULT_WINDOW_SIZE = 128;
+
+	private static final int METRIC_COUNT = 5;
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	private final Histogram[] mHistograms = new Histogram[METRIC_COUNT];
+	private long mPendingTouchTime = -1; // Event time of the last undrawn touch
+	private long mPendingShowTime = -1; // Nano time of the undrawn show
+
+	public RadialMenuMetrics() {
+		this(DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize - Number of recent samples kept for each timing.
+	 */
+	public RadialMenuMetrics(int windowSize) {
+		for (int i = 0; i < METRIC_COUNT; i++) {
+			mHistograms[i] = new Histogram(windowSize);
+		}
+	}
+
+	/**
+	 * @param metric - One of the METRIC_ constants.
+	 * @return The samples of the timing, in nanoseconds.
+	 */
+	public Histogram getHistogram(int metric) {
+		return mHistograms[metric];
+	}
+
+	/**
+	 * Drops the samples of all the timings.
+	 */
+	public void reset() {
+		for (int i = 0; i < METRIC_COUNT; i++) {
+			mHistograms[i].reset();
+		}
+	}
+
+	/**
+	 * Called by the widget for every touch event it handles. The latency is
+	 * measured from the last touch before a frame, so touches that did not
+	 * change anything do not count the idle time until the next frame.
+	 * @param event - The touch event.
+	 */
+	public void markTouch(MotionEvent event) {
+		mPendingTouchTime = event.getEventTime();
+	}
+
+	/**
+	 * Called by the widget when it is shown.
+	 */
+	public void markShow() {
+		mPendingShowTime = System.nanoTime();
+	}
+
+	/**
+	 * Called by the widget after building its geometry.
+	 * @param startTime - System.nanoTime() taken before building it.
+	 */
+	public void recordLayout(long startTime) {
+		mHistograms[METRIC_LAYOUT].record(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Called by the widget after dismissing itself.
+	 * @param startTime - System.nanoTime() taken before dismissing it.
+	 */
+	public void recordDismiss(long startTime) {
+		mHistograms[METRIC_DISMISS].record(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Called by the widget at the end of onDraw. Also completes the pending
+	 * touch and show latencies.
+	 * @param startTime - System.nanoTime() taken at the start of onDraw.
+	 */
+	public void recordFrame(long startTime) {
+		long endTime = System.nanoTime();
+		mHistograms[METRIC_DRAW].record(endTime - startTime);
+		if (mPendingTouchTime >= 0) {
+			mHistograms[METRIC_TOUCH_TO_FRAME].record((SystemClock.uptimeMillis()
+					- mPendingTouchTime) * NANOS_PER_MILLI);
+			mPendingTouchTime = -1;
+		}
+		if (mPendingShowTime >= 0) {
+			mHistograms[METRIC_SHOW_TO_FRAME].record(endTime - mPendingShowTime);
+			mPendingShowTime = -1;
+		}
+	}
+
+	/**
+	 * Rolling window of the most recent samples of a timing. Recording a
+	 * sample does not allocate, the percentiles are computed when polled.
+	 */
+	public static final class Histogram {
+		private final long[] mSamples;
+		private int mNext = 0;
+		private int mSize = 0;
+		private long mTotalCount = 0;
+
+		private Histogram(int windowSize) {
+			mSamples = new long[windowSize];
+		}
+
+		private synchronized void record(long value) {
+			mSamples[mNext] = value;
+			mNext = (mNext + 1) % mSamples.length;
+			if (mSize < mSamples.length)
+				mSize++;
+			mTotalCount++;
+		}
+
+		/**
+		 * @return Number of samples in the window.
+		 */
+		public synchronized int getSampleCount() {
+			return mSize;
+		}
+
+		/**
+		 * @return Number of samples recorded since the last reset.
+		 */
+		public synchronized long getTotalCount() {
+			return mTotalCount;
+		}
+
+		/**
+		 * @param percentile - Percentile between 0 and 100.
+		 * @return The sample at the given percentile of the window, or 0 if
+		 * there are no samples.
+		 */
+		public synchronized long getPercentile(float percentile) {
+			if (mSize == 0)
+				return 0;
+			long[] sorted = Arrays.copyOf(mSamples, mSize);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile / 100 * mSize) - 1;
+			return sorted[Math.min(mSize - 1, Math.max(0, index))];
+		}
+
+		/**
+		 * @return Mean of the samples in the window, or 0 if there are none.
+		 */
+		public synchronized long getMean() {
+			if (mSize == 0)
+				return 0;
+			long sum = 0;
+			for (int i = 0; i < mSize; i++) {
+				sum += mSamples[i];
+			}
+			return sum / mSize;
+		}
+
+		/**
+		 * @return Largest sample in the window, or 0 if there are none.
+		 */
+		public synchronized long getMax() {
+			long max = 0;
+			for (int i = 0; i < mSize; i++) {
+				if (mSamples[i] > max)
+					max = mSamples[i];
+			}
+			return max;
+		}
+
+		/**
+		 * Drops all the samples.
+		 */
+		public synchronized void reset() {
+			mNext = 0;
+			mSize = 0;
+			mTotalCount = 0;
+		}
+	}
+}
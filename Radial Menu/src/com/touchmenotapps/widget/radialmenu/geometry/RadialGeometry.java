@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2012
+ * Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.geometry;
+
+/**
+ * Angle, ring layout and hit test math shared by all the radial widgets.
+ * This class does not depend on the Android framework, so it can be tested
+ * and benchmarked on a plain JVM.
+ * Angles follow the screen coordinate system: 0 points to 3 o'clock and
+ * angles grow clockwise.
+ *
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public final class RadialGeometry {
+
+	public static final double TWO_PI = 2 * Math.PI;
+
+	public static final int NO_SECTOR = -1;
+
+	private RadialGeometry() {
+	}
+
+	/**
+	 * @param centerX - Center X.
+	 * @param centerY - Center Y.
+	 * @param x - Point X.
+	 * @param y - Point Y.
+	 * @return Squared distance from the center to the point.
+	 */
+	public static double distanceSquared(double centerX, double centerY, double x, double y) {
+		double diffX = x - centerX;
+		double diffY = y - centerY;
+		return diffX * diffX + diffY * diffY;
+	}
+
+	/**
+	 * @param centerX - Center X.
+	 * @param centerY - Center Y.
+	 * @param x - Point X.
+	 * @param y - Point Y.
+	 * @return Angle of the point around the center in radians, between 0 and
+	 * 2 * PI.
+	 */
+	public static double angle(double centerX, double centerY, double x, double y) {
+		double angle = Math.atan2(y - centerY, x - centerX);
+		if (angle < 0)
+			angle += TWO_PI;
+		return angle;
+	}
+
+	/**
+	 * Checks if an angle falls inside a wedge. Both bounds are inclusive.
+	 * @param angle - Angle in radians, between 0 and 2 * PI.
+	 * @param startAngle - Wedge start angle in radians.
+	 * @param sweepAngle - Wedge sweep angle in radians.
+	 * @return true if the angle is inside the wedge.
+	 */
+	public static boolean angleInWedge(double angle, double startAngle, double sweepAngle) {
+		if (startAngle >= TWO_PI)
+			startAngle = startAngle - TWO_PI;
+		return (angle >= startAngle && angle <= startAngle + sweepAngle)
+				|| (angle + TWO_PI >= startAngle && angle + TWO_PI <= startAngle + sweepAngle);
+	}
+
+	/**
+	 * Checks if a squared distance falls between two radii. Both bounds are
+	 * exclusive.
+	 * @param distanceSquared - Squared distance from the center.
+	 * @param innerRadius - Inner radius.
+	 * @param outerRadius - Outer radius.
+	 * @return true if the distance is inside the ring.
+	 */
+	public static boolean inRing(double distanceSquared, double innerRadius, double outerRadius) {
+		return distanceSquared < outerRadius * outerRadius
+				&& distanceSquared > innerRadius * innerRadius;
+	}
+
+	/**
+	 * Checks if a point falls inside a ring wedge.
+	 * @param px - Point X.
+	 * @param py - Point Y.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param innerRadius - Inner radius of the ring.
+	 * @param outerRadius - Outer radius of the ring.
+	 * @param startAngle - Wedge start angle in radians.
+	 * @param sweepAngle - Wedge sweep angle in radians.
+	 * @return true if the point is inside the wedge.
+	 */
+	public static boolean pointInWedge(double px, double py, double centerX, double centerY,
+			double innerRadius, double outerRadius, double startAngle, double sweepAngle) {
+		return angleInWedge(angle(centerX, centerY, px, py), startAngle, sweepAngle)
+				&& inRing(distanceSquared(centerX, centerY, px, py), innerRadius, outerRadius);
+	}
+
+	/**
+	 * Start angle of the first wedge of a ring whose first wedge is centered
+	 * on top of the circle.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 * @return Start angle in radians.
+	 */
+	public static double firstWedgeStart(int wedgeQty) {
+		return TWO_PI * 0.75 - (TWO_PI / wedgeQty) / 2;
+	}
+
+	/**
+	 * Sweep of the drawn wedges of a ring, rounded down to whole degrees.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 * @return Sweep angle in degrees.
+	 */
+	public static float wedgeSweepDegrees(int wedgeQty) {
+		return 360 / wedgeQty;
+	}
+
+	/**
+	 * Start of a drawn wedge of a ring whose first wedge is centered on top
+	 * of the circle.
+	 * @param index - Wedge index.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 * @return Start angle in degrees.
+	 */
+	public static float wedgeStartDegrees(int index, int wedgeQty) {
+		float sweep = wedgeSweepDegrees(wedgeQty);
+		return (index * sweep) + (270 - (sweep / 2));
+	}
+
+	/**
+	 * Angle through the middle of a wedge of a ring whose first wedge is
+	 * centered on top of the circle.
+	 * @param index - Wedge index.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 * @return Angle in radians.
+	 */
+	public static double wedgeCenterAngle(int index, int wedgeQty) {
+		double slice = TWO_PI / wedgeQty;
+		return (slice * index) + (slice * 0.5) + firstWedgeStart(wedgeQty);
+	}
+
+	/**
+	 * Sweep of the sectors of a half ring, as used by the semi-circular menu.
+	 * @param itemQty - Number of sectors in the half ring.
+	 * @return Sweep angle in degrees.
+	 */
+	public static float halfRingSweepDegrees(int itemQty) {
+		return 180f / itemQty;
+	}
+
+	/**
+	 * Locates a point on a half ring of equal sectors, where sector 0 starts
+	 * at the start angle and the sectors follow clockwise.
+	 * @param px - Point X.
+	 * @param py - Point Y.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param innerRadius - Inner radius of the ring.
+	 * @param outerRadius - Outer radius of the ring.
+	 * @param startDegrees - Start angle of the half ring in degrees.
+	 * @param itemQty - Number of sectors in the half ring.
+	 * @return Index of the sector, or {@link #NO_SECTOR} if the point is
+	 * outside the half ring.
+	 */
+	public static int halfRingSector(double px, double py, double centerX,
+			double centerY, double innerRadius, double outerRadius,
+			float startDegrees, int itemQty) {
+		if (itemQty <= 0
+				|| !inRing(distanceSquared(centerX, centerY, px, py), innerRadius, outerRadius))
+			return NO_SECTOR;
+		double offset = Math.toDegrees(angle(centerX, centerY, px, py)) - startDegrees;
+		offset = offset % 360;
+		if (offset < 0)
+			offset += 360;
+		if (offset > 180)
+			return NO_SECTOR;
+		int index = (int) (offset / halfRingSweepDegrees(itemQty));
+		return index < itemQty ? index : itemQty - 1;
+	}
+
+	/**
+	 * Sweep of the sectors of a ring of equal sectors. The sweep is not
+	 * rounded, so the sectors add up to the full circle.
+	 * @param items - Number of sectors.
+	 * @return Sweep angle in degrees, 0 if there are no sectors.
+	 */
+	public static float sectorSweepDegrees(int items) {
+		return items > 0 ? 360f / items : 0;
+	}
+
+	/**
+	 * Start of a sector of a ring of equal sectors, where sector 0 starts at
+	 * 12 o'clock, or is centered on it if alt is set.
+	 * @param index - Sector index.
+	 * @param items - Number of sectors.
+	 * @param alt - true if sector 0 is centered on 12 o'clock.
+	 * @return Start angle in degrees, clockwise from 3 o'clock.
+	 */
+	public static float sectorStartDegrees(int index, int items, boolean alt) {
+		float sweep = sectorSweepDegrees(items);
+		return sweep * index - 90 - (alt ? sweep / 2 : 0);
+	}
+
+	/**
+	 * Position of a point along a ring of equal sectors, where sector 0 starts
+	 * at 12 o'clock, or is centered on it if alt is set. The integer part is
+	 * the sector index. Uses the same boundaries as
+	 * {@link #sectorStartDegrees(int, int, boolean)}.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param x - Point X.
+	 * @param y - Point Y.
+	 * @param alt - true if sector 0 is centered on 12 o'clock.
+	 * @param items - Number of sectors.
+	 * @return Position in sectors, between 0 and items.
+	 */
+	public static float sectorPosition(float centerX, float centerY, float x, float y,
+			boolean alt, int items) {
+		return (float) sectorOffset(centerX, centerY, x, y, alt, items);
+	}
+
+	/**
+	 * Locates a point on a ring of equal sectors, where sector 0 starts at
+	 * 12 o'clock, or is centered on it if alt is set. The ring has no outer
+	 * bound, so points past it still select the sector in their direction.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param x - Point X.
+	 * @param y - Point Y.
+	 * @param innerRadius - Points up to this distance from the center are not
+	 * on any sector.
+	 * @param alt - true if sector 0 is centered on 12 o'clock.
+	 * @param items - Number of sectors.
+	 * @return Index of the sector, or {@link #NO_SECTOR}.
+	 */
+	public static int sectorAt(float centerX, float centerY, float x, float y,
+			float innerRadius, boolean alt, int items) {
+		if (items <= 0 || (innerRadius > 0
+				&& distanceSquared(centerX, centerY, x, y) <= innerRadius * innerRadius))
+			return NO_SECTOR;
+		int index = (int) sectorOffset(centerX, centerY, x, y, alt, items);
+		return index < items ? index : 0;
+	}
+
+	private static double sectorOffset(float centerX, float centerY, float x, float y,
+			boolean alt, int items) {
+		float sweep = sectorSweepDegrees(items);
+		// angle clockwise from the start of the first sector
+		double angle = Math.toDegrees(Math.atan2(y - centerY, x - centerX)) + 90
+				+ (alt ? sweep / 2 : 0);
+		if (angle < 0)
+			angle += 360;
+		else if (angle >= 360)
+			angle -= 360;
+		return angle / sweep;
+	}
+
+	/**
+	 * Computes a point on a circle.
+	 * @param centerX - Center X of the circle.
+	 * @param centerY - Center Y of the circle.
+	 * @param radius - Radius of the circle.
+	 * @param angleInDegrees - Angle of the point in degrees.
+	 * @param point - Receives the X and Y of the point.
+	 */
+	public static void pointOnCircle(float centerX, float centerY, float radius,
+			float angleInDegrees, float[] point) {
+		point[0] = (float) (radius * Math.cos(angleInDegrees * Math.PI / 180F)) + centerX;
+		point[1] = (float) (radius * Math.sin(angleInDegrees * Math.PI / 180F)) + centerY;
+	}
+
+	/**
+	 * Computes the angle ABC, going clockwise from BA to BC.
+	 * @return Angle in whole degrees, between 0 and 359.
+	 */
+	public static int angleABC(int ax, int ay, int bx, int by, int cx, int cy) {
+		int abX = bx - ax;
+		int abY = by - ay;
+		int cbX = bx - cx;
+		int cbY = by - cy;
+		float dot = (abX * cbX + abY * cbY); // dot product
+		float cross = (abX * cbY - abY * cbX); // cross product
+		float alpha = (float) Math.atan2(cross, dot);
+		if ((int) Math.toDegrees(alpha) < 0)
+			return ((int) Math.toDegrees(alpha)) + 360;
+		return (int) Math.toDegrees(alpha);
+	}
+
+	/**
+	 * Computes the bounds of a ring sector.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param innerRadius - Inner radius of the sector.
+	 * @param outerRadius - Outer radius of the sector.
+	 * @param startAngle - Start angle in degrees.
+	 * @param sweepAngle - Sweep angle in degrees.
+	 * @param bounds - Receives the left, top, right and bottom bounds.
+	 */
+	public static void sectorBounds(float centerX, float centerY, float innerRadius,
+			float outerRadius, float startAngle, float sweepAngle, float[] bounds) {
+		double start = Math.toRadians(startAngle);
+		double end = Math.toRadians(startAngle + sweepAngle);
+		bounds[0] = bounds[2] = centerX + (float) (innerRadius * Math.cos(start));
+		bounds[1] = bounds[3] = centerY + (float) (innerRadius * Math.sin(start));
+		include(bounds, centerX + (float) (innerRadius * Math.cos(end)), centerY + (float) (innerRadius * Math.sin(end)));
+		include(bounds, centerX + (float) (outerRadius * Math.cos(start)), centerY + (float) (outerRadius * Math.sin(start)));
+		include(bounds, centerX + (float) (outerRadius * Math.cos(end)), centerY + (float) (outerRadius * Math.sin(end)));
+		// the arc bulges out wherever it crosses one of the axes
+		for (float axis = (float) Math.ceil(startAngle / 90) * 90; axis < startAngle + sweepAngle; axis += 90) {
+			double a = Math.toRadians(axis);
+			include(bounds, centerX + (float) (outerRadius * Math.cos(a)), centerY + (float) (outerRadius * Math.sin(a)));
+		}
+	}
+
+	private static void include(float[] bounds, float x, float y) {
+		if (x < bounds[0])
+			bounds[0] = x;
+		if (y < bounds[1])
+			bounds[1] = y;
+		if (x > bounds[2])
+			bounds[2] = x;
+		if (y > bounds[3])
+			bounds[3] = y;
+	}
+}
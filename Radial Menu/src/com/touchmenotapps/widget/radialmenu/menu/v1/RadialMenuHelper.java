@@ -22,14 +22,10 @@ import android.content.Context;
 import android.graphics.drawable.BitmapDrawable;
 import android.view.View;
 import android.view.WindowManager;
-import android.view.animation.AccelerateInterpolator;
-import android.view.animation.AnimationSet;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.RotateAnimation;
-import android.view.animation.ScaleAnimation;
-import android.view.animation.TranslateAnimation;
 import android.widget.PopupWindow;
 
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
 /**
  * This is the helper class for Radial Menu widget.
  * It contains certain functions that are used in creating the radial menu.
@@ -39,9 +35,9 @@ import android.widget.PopupWindow;
  */
 public class RadialMenuHelper {
 
-	private RotateAnimation rotate;
-	private ScaleAnimation scale;
-	private TranslateAnimation move;
+	// Reused for every open and close
+	private RadialMenuSpriteAnimation openAnimation = new RadialMenuSpriteAnimation();
+	private RadialMenuSpriteAnimation closeAnimation = new RadialMenuSpriteAnimation();
 	private long animationSpeed = 0;
 	
 	/**
@@ -70,19 +66,8 @@ public class RadialMenuHelper {
 	 */
 	protected void onOpenAnimation(View view, int xPosition, int yPosition,
 			int xSource, int ySource) {
-		rotate = new RotateAnimation(0, 360, xPosition, yPosition);
-		scale = new ScaleAnimation(0, 1, 0, 1, xPosition, yPosition);
-		scale.setInterpolator(new DecelerateInterpolator());
-		move = new TranslateAnimation(xSource - xPosition, 0, ySource
-				- yPosition, 0);
-		// Setup the animation sequence
-		AnimationSet spriteAnimation = new AnimationSet(true);
-		spriteAnimation.addAnimation(rotate);
-		spriteAnimation.addAnimation(scale);
-		spriteAnimation.addAnimation(move);
-		spriteAnimation.setDuration(animationSpeed);
-		// Start the animation
-		view.startAnimation(spriteAnimation);
+		onOpenAnimation(view, xPosition, yPosition, xSource, ySource,
+				animationSpeed);
 	}
 
 	/**
@@ -96,19 +81,9 @@ public class RadialMenuHelper {
 	 */
 	protected void onOpenAnimation(View view, int xPosition, int yPosition,
 			int xSource, int ySource, long animTime) {
-		rotate = new RotateAnimation(0, 360, xPosition, yPosition);
-		scale = new ScaleAnimation(0, 1, 0, 1, xPosition, yPosition);
-		scale.setInterpolator(new DecelerateInterpolator());
-		move = new TranslateAnimation(xSource - xPosition, 0, ySource
-				- yPosition, 0);
-		// Setup the animation sequence
-		AnimationSet spriteAnimation = new AnimationSet(true);
-		spriteAnimation.addAnimation(rotate);
-		spriteAnimation.addAnimation(scale);
-		spriteAnimation.addAnimation(move);
-		spriteAnimation.setDuration(animTime);
-		// Start the animation
-		view.startAnimation(spriteAnimation);
+		openAnimation.set(0, 360, 0, 1, xSource - xPosition, 0, ySource
+				- yPosition, 0, xPosition, yPosition);
+		startAnimation(view, openAnimation, animTime);
 	}
 
 	/**
@@ -121,19 +96,8 @@ public class RadialMenuHelper {
 	 */
 	protected void onCloseAnimation(View view, int xPosition, int yPosition,
 			int xSource, int ySource) {
-		rotate = new RotateAnimation(360, 0, xPosition, yPosition);
-		scale = new ScaleAnimation(1, 0, 1, 0, xPosition, yPosition);
-		scale.setInterpolator(new AccelerateInterpolator());
-		move = new TranslateAnimation(0, xSource - xPosition, 0, ySource
-				- yPosition);
-		// Setup the animation sequence
-		AnimationSet spriteAnimation = new AnimationSet(true);
-		spriteAnimation.addAnimation(rotate);
-		spriteAnimation.addAnimation(scale);
-		spriteAnimation.addAnimation(move);
-		spriteAnimation.setDuration(animationSpeed);
-		// Start the animation
-		view.startAnimation(spriteAnimation);
+		onCloseAnimation(view, xPosition, yPosition, xSource, ySource,
+				animationSpeed);
 	}
 
 	/**
@@ -147,19 +111,22 @@ public class RadialMenuHelper {
 	 */
 	protected void onCloseAnimation(View view, int xPosition, int yPosition,
 			int xSource, int ySource, long animTime) {
-		rotate = new RotateAnimation(360, 0, xPosition, yPosition);
-		scale = new ScaleAnimation(1, 0, 1, 0, xPosition, yPosition);
-		scale.setInterpolator(new AccelerateInterpolator());
-		move = new TranslateAnimation(0, xSource - xPosition, 0, ySource
-				- yPosition);
-		// Setup the animation sequence
-		AnimationSet spriteAnimation = new AnimationSet(true);
-		spriteAnimation.addAnimation(rotate);
-		spriteAnimation.addAnimation(scale);
-		spriteAnimation.addAnimation(move);
-		spriteAnimation.setDuration(animTime);
-		// Start the animation
-		view.startAnimation(spriteAnimation);
+		closeAnimation.set(360, 0, 1, 0, 0, xSource - xPosition, 0, ySource
+				- yPosition, xPosition, yPosition);
+		startAnimation(view, closeAnimation, animTime);
+	}
+
+	/**
+	 * Restarts a reused animation on the view.
+	 * @param view - View to be animated.
+	 * @param animation - Animation to restart.
+	 * @param animTime - View animation time.
+	 */
+	private void startAnimation(View view, RadialMenuSpriteAnimation animation,
+			long animTime) {
+		animation.reset();
+		animation.setDuration(animTime);
+		view.startAnimation(animation);
 	}
 
 	/**
@@ -177,26 +144,8 @@ public class RadialMenuHelper {
 	protected boolean pntInWedge(double px, double py, float xRadiusCenter,
 			float yRadiusCenter, int innerRadius, int outerRadius,
 			double startAngle, double sweepAngle) {
-		double diffX = px - xRadiusCenter;
-		double diffY = py - yRadiusCenter;
-		double angle = Math.atan2(diffY, diffX);
-		if (angle < 0)
-			angle += (2 * Math.PI);
-		if (startAngle >= (2 * Math.PI)) {
-			startAngle = startAngle - (2 * Math.PI);
-		}
-		// checks if point falls between the start and end of the wedge
-		if ((angle >= startAngle && angle <= startAngle + sweepAngle)
-				|| (angle + (2 * Math.PI) >= startAngle && (angle + (2 * Math.PI)) <= startAngle
-						+ sweepAngle)) {
-			// checks if point falls inside the radius of the wedge
-			double dist = diffX * diffX + diffY * diffY;
-			if (dist < outerRadius * outerRadius
-					&& dist > innerRadius * innerRadius) {
-				return true;
-			}
-		}
-		return false;
+		return RadialGeometry.pointInWedge(px, py, xRadiusCenter, yRadiusCenter,
+				innerRadius, outerRadius, startAngle, sweepAngle);
 	}
 
 	/**
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+/**
+ * This class maps a touch point to the centre circle, inner ring and outer ring
+ * wedges of the radial menu. The polar coordinate of the touch is computed
+ * once per touch and converted straight to a wedge index, so the cost does not
+ * depend on the number of wedges.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuHitTester {
+
+	public static final int NO_WEDGE = -1;
+
+	private static final double TWO_PI = RadialGeometry.TWO_PI;
+
+	private float xCenter, yCenter;
+	private double centerRadiusSq;
+
+	private Ring innerRing = new Ring();
+	private Ring outerRing = new Ring();
+
+	private boolean inCenter = false;
+	private int innerWedge = NO_WEDGE;
+	private int outerWedge = NO_WEDGE;
+
+	/**
+	 * Set the centre of the menu.
+	 * @param x - Center X location.
+	 * @param y - Center Y location.
+	 */
+	public void setCenter(float x, float y) {
+		this.xCenter = x;
+		this.yCenter = y;
+	}
+
+	/**
+	 * @param radius - Radius of the centre circle.
+	 */
+	public void setCenterRadius(double radius) {
+		this.centerRadiusSq = radius * radius;
+	}
+
+	/**
+	 * @param innerRadius - Inner border radius.
+	 * @param outerRadius - Outer border radius.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 */
+	public void setInnerRing(int innerRadius, int outerRadius, int wedgeQty) {
+		innerRing.set(innerRadius, outerRadius, wedgeQty);
+	}
+
+	/**
+	 * @param innerRadius - Inner border radius.
+	 * @param outerRadius - Outer border radius.
+	 * @param wedgeQty - Number of wedges in the ring.
+	 */
+	public void setOuterRing(int innerRadius, int outerRadius, int wedgeQty) {
+		outerRing.set(innerRadius, outerRadius, wedgeQty);
+	}
+
+	/**
+	 * Locates the given point. The results are read with
+	 * {@link #isInCenter()}, {@link #getInnerWedge()} and
+	 * {@link #getOuterWedge()}.
+	 * @param px - Touch X location.
+	 * @param py - Touch Y location.
+	 */
+	public void locate(double px, double py) {
+		double dist = RadialGeometry.distanceSquared(xCenter, yCenter, px, py);
+
+		inCenter = dist < centerRadiusSq;
+		innerWedge = NO_WEDGE;
+		outerWedge = NO_WEDGE;
+
+		boolean inInner = innerRing.contains(dist);
+		boolean inOuter = outerRing.contains(dist);
+		if (!inInner && !inOuter)
+			return;
+
+		double angle = RadialGeometry.angle(xCenter, yCenter, px, py);
+		if (inInner)
+			innerWedge = innerRing.wedgeAt(angle);
+		if (inOuter)
+			outerWedge = outerRing.wedgeAt(angle);
+	}
+
+	/**
+	 * @return true if the last located point is inside the centre circle.
+	 */
+	public boolean isInCenter() {
+		return inCenter;
+	}
+
+	/**
+	 * @return Index of the inner ring wedge of the last located point, or
+	 * {@link #NO_WEDGE}.
+	 */
+	public int getInnerWedge() {
+		return innerWedge;
+	}
+
+	/**
+	 * @return Index of the outer ring wedge of the last located point, or
+	 * {@link #NO_WEDGE}.
+	 */
+	public int getOuterWedge() {
+		return outerWedge;
+	}
+
+	/**
+	 * Precomputed bounds of one ring. Wedge 0 is centered on top of the
+	 * circle and the wedges follow clockwise.
+	 */
+	private static class Ring {
+		private int innerRadius, outerRadius;
+		private int wedgeQty;
+		private double start, slice;
+
+		private void set(int innerRadius, int outerRadius, int wedgeQty) {
+			this.innerRadius = innerRadius;
+			this.outerRadius = outerRadius;
+			this.wedgeQty = wedgeQty;
+			if (wedgeQty > 0) {
+				this.slice = TWO_PI / wedgeQty;
+				this.start = RadialGeometry.firstWedgeStart(wedgeQty);
+			}
+		}
+
+		private boolean contains(double dist) {
+			return wedgeQty > 0 && RadialGeometry.inRing(dist, innerRadius, outerRadius);
+		}
+
+		/**
+		 * @param angle - Angle of the point in radians, between 0 and 2 * PI.
+		 * @return Index of the wedge or {@link RadialMenuHitTester#NO_WEDGE}.
+		 */
+		private int wedgeAt(double angle) {
+			double offset = angle - start;
+			if (offset < 0)
+				offset += TWO_PI;
+			int index = (int) (offset / slice);
+			// The wedge bounds are inclusive, so a point on the border between
+			// two wedges belongs to the lower index. The neighbours are checked
+			// in order to resolve borders and rounding exactly like a linear
+			// scan over the wedges would.
+			if (inWedge(angle, 0))
+				return 0;
+			for (int i = Math.max(1, index - 1); i <= index + 1 && i < wedgeQty; i++) {
+				if (inWedge(angle, i))
+					return i;
+			}
+			return NO_WEDGE;
+		}
+
+		private boolean inWedge(double angle, int index) {
+			return RadialGeometry.angleInWedge(angle, (index * slice) + start, slice);
+		}
+	}
+}
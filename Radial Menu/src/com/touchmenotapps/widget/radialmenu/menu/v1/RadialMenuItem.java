@@ -32,6 +32,11 @@ public class RadialMenuItem implements RadialMenuInterface {
 	private String menuLabel = null;
 	private int menuIcon = 0;
 	private List<RadialMenuItem> menuChildren = null;
+	private RadialMenuChildProvider childProvider = null;
+	// Published by whichever thread ran the provider, read without locking
+	private volatile List<RadialMenuItem> providedChildren = null;
+	private volatile boolean childrenProvided = false;
+	private int childGeneration = 0; // Bumped when the provided children are dropped
 	private RadialMenuItemClickListener menuListener = null;
 	
 	/**
@@ -69,6 +74,45 @@ public class RadialMenuItem implements RadialMenuInterface {
 	public void setMenuChildren(List<RadialMenuItem> childItems) {
 		this.menuChildren = childItems;
 	}
+
+	/**
+	 * Set a provider that creates the menu child items the first time they
+	 * are needed, which is when the menu item is activated. The children are
+	 * kept until {@link #invalidateChildren()} is called. Children set with
+	 * {@link #setMenuChildren(List)} take precedence over the provider.
+	 * @param provider - Child item provider, null to remove it.
+	 */
+	public void setMenuChildProvider(RadialMenuChildProvider provider) {
+		this.childProvider = provider;
+		invalidateChildren();
+	}
+
+	/**
+	 * @return the childProvider
+	 */
+	public RadialMenuChildProvider getMenuChildProvider() {
+		return childProvider;
+	}
+
+	/**
+	 * Drops the child items created by the child provider, so that they are
+	 * created again the next time they are needed.
+	 */
+	public void invalidateChildren() {
+		synchronized (this) {
+			childGeneration++;
+			this.childrenProvided = false;
+			this.providedChildren = null;
+		}
+	}
+
+	/**
+	 * @return true if getChildren() can return without calling the child
+	 * provider. Never waits for a provider call running on another thread.
+	 */
+	public boolean isChildrenLoaded() {
+		return menuChildren != null || childProvider == null || childrenProvided;
+	}
 	
 	@Override
 	public String getName() {
@@ -87,7 +131,28 @@ public class RadialMenuItem implements RadialMenuInterface {
 
 	@Override
 	public List<RadialMenuItem> getChildren() {
-		return menuChildren;
+		RadialMenuChildProvider provider = childProvider;
+		if (menuChildren != null || provider == null)
+			return menuChildren;
+		if (childrenProvided)
+			return providedChildren;
+		int generation;
+		synchronized (this) {
+			generation = childGeneration;
+		}
+		// The provider runs outside the lock, so readers on the UI thread are
+		// never held up by a slow provider
+		List<RadialMenuItem> children = provider.getChildren(this);
+		synchronized (this) {
+			if (childrenProvided)
+				return providedChildren;
+			// Children invalidated while the provider ran are not kept
+			if (generation == childGeneration) {
+				providedChildren = children;
+				childrenProvided = true;
+			}
+		}
+		return children;
 	}
 
 	@Override
@@ -100,4 +165,13 @@ public class RadialMenuItem implements RadialMenuInterface {
 	public interface RadialMenuItemClickListener {
 		public void execute();
 	}
+
+	public interface RadialMenuChildProvider {
+		/**
+		 * Creates the child items of a menu item.
+		 * @param parent - Menu item the children belong to.
+		 * @return The child items, or null if the item has none.
+		 */
+		public List<RadialMenuItem> getChildren(RadialMenuItem parent);
+	}
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * This class holds the measured layout of a (multi line) menu item label.
+ * The label is split and measured once for a text size, after which it can be
+ * drawn with drawText calls only. Drawing at another text size (while the
+ * outer ring animates) scales the measured offsets instead of measuring again.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuLabelLayout {
+
+	private static final int LINE_SPACING = 3;
+
+	private final String label;
+	private final String[] lines;
+	private final int[] lineLeft; // Offset of each line from the center X
+	private final int[] lineBaseline; // Offset of each baseline from the top
+	private float textHeight;
+	private float textSize;
+
+	/**
+	 * @param label - Label text. A "new line" splits it into multiple lines.
+	 */
+	protected RadialMenuLabelLayout(String label) {
+		this.label = label;
+		this.lines = label.split("\n");
+		this.lineLeft = new int[lines.length];
+		this.lineBaseline = new int[lines.length];
+	}
+
+	/**
+	 * Measures the label lines.
+	 * @param paint - Paint used for measuring, its text size is changed.
+	 * @param size - Text size.
+	 * @param bounds - Scratch rect for the text bounds.
+	 */
+	protected void measure(Paint paint, float size, Rect bounds) {
+		paint.setTextSize(size);
+		int bottom = 0;
+		for (int j = 0; j < lines.length; j++) {
+			paint.getTextBounds(lines[j], 0, lines[j].length(), bounds);
+			bottom = bottom + (bounds.height() + LINE_SPACING);
+			lineLeft[j] = -(bounds.width() / 2) - bounds.left;
+			lineBaseline[j] = bottom - bounds.bottom;
+		}
+		this.textHeight = bottom;
+		this.textSize = size;
+	}
+
+	/**
+	 * @return the label
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * @return the measured text size
+	 */
+	public float getTextSize() {
+		return textSize;
+	}
+
+	/**
+	 * @param size - Text size to draw at.
+	 * @return Total height of the label lines.
+	 */
+	protected float getTextHeight(float size) {
+		return textHeight * (size / textSize);
+	}
+
+	/**
+	 * The offset an icon is moved up by to stack it on top of the label.
+	 * @param size - Text size to draw at.
+	 * @return Icon offset in pixels.
+	 */
+	protected int getIconOffset(float size) {
+		return (int) getTextHeight(size) / 2;
+	}
+
+	/**
+	 * Draws the label lines.
+	 * @param c - Canvas to draw on.
+	 * @param paint - Paint with the text color and alpha set.
+	 * @param centerX - Center X of the label.
+	 * @param top - Top of the first line.
+	 * @param size - Text size to draw at.
+	 */
+	protected void draw(Canvas c, Paint paint, int centerX, float top, float size) {
+		paint.setTextSize(size);
+		if (size == textSize) {
+			for (int j = 0; j < lines.length; j++) {
+				c.drawText(lines[j], centerX + lineLeft[j], top + lineBaseline[j], paint);
+			}
+		} else {
+			float scale = size / textSize;
+			for (int j = 0; j < lines.length; j++) {
+				c.drawText(lines[j], centerX + lineLeft[j] * scale, top
+						+ lineBaseline[j] * scale, paint);
+			}
+		}
+	}
+}
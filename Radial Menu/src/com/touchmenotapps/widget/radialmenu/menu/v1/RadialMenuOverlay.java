@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+/**
+ * This class is a layer on top of the content of an existing window, used to
+ * show radial menus without creating a window of their own. One layer is
+ * added to the decor view of a window and shared by all the menus shown in
+ * it. Menus stay attached to the layer once shown and are only hidden when
+ * dismissed, so opening them again needs neither a new window surface nor a
+ * new layout pass. A shown menu fills the layer, as it does its popup window,
+ * so taps outside the rings reach {@link RadialMenuWidget#onTouchEvent} and
+ * dismiss the menu from there.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuOverlay extends FrameLayout {
+
+	private RadialMenuWidget showing = null;
+
+	protected RadialMenuOverlay(Context context) {
+		super(context);
+		setVisibility(View.INVISIBLE);
+	}
+
+	/**
+	 * Get the layer of the window the anchor is attached to, adding it the
+	 * first time.
+	 * @param anchor - View attached to the window.
+	 * @return The layer, or null if the anchor is not attached to a window
+	 * with a decor view that can host it.
+	 */
+	protected static RadialMenuOverlay obtain(View anchor) {
+		View root = anchor.getRootView();
+		if (!(root instanceof FrameLayout) || root == anchor)
+			return null;
+		FrameLayout decor = (FrameLayout) root;
+		for (int i = decor.getChildCount() - 1; i >= 0; i--) {
+			View child = decor.getChildAt(i);
+			if (child instanceof RadialMenuOverlay)
+				return (RadialMenuOverlay) child;
+		}
+		RadialMenuOverlay overlay = new RadialMenuOverlay(anchor.getContext());
+		decor.addView(overlay, new FrameLayout.LayoutParams(
+				ViewGroup.LayoutParams.MATCH_PARENT,
+				ViewGroup.LayoutParams.MATCH_PARENT));
+		return overlay;
+	}
+
+	/**
+	 * Shows a menu in the layer, dismissing the menu currently shown.
+	 * @param menu - Menu to show.
+	 * @param posX - Left of the menu in the window.
+	 * @param posY - Top of the menu in the window.
+	 */
+	protected void showMenu(RadialMenuWidget menu, int posX, int posY) {
+		if (showing != null && showing != menu)
+			showing.dismiss();
+		if (menu.getParent() == this) {
+			// Only lays the menu out again when it moved
+			FrameLayout.LayoutParams params = (FrameLayout.LayoutParams) menu
+					.getLayoutParams();
+			if (params.leftMargin != posX || params.topMargin != posY) {
+				params.leftMargin = posX;
+				params.topMargin = posY;
+				menu.setLayoutParams(params);
+			}
+		} else {
+			if (menu.getParent() instanceof ViewGroup)
+				((ViewGroup) menu.getParent()).removeView(menu);
+			FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
+					ViewGroup.LayoutParams.MATCH_PARENT,
+					ViewGroup.LayoutParams.MATCH_PARENT);
+			params.leftMargin = posX;
+			params.topMargin = posY;
+			addView(menu, params);
+		}
+		showing = menu;
+		menu.setVisibility(View.VISIBLE);
+		setVisibility(View.VISIBLE);
+		bringToFront();
+		// Takes the focus so the back key dismisses the menu
+		menu.setFocusableInTouchMode(true);
+		menu.requestFocus();
+	}
+
+	/**
+	 * Hides a menu shown in the layer. The menu stays attached, so its
+	 * layout and cached rendering are kept for the next time it is shown.
+	 * @param menu - Menu to hide.
+	 * @return true if the menu was shown in the layer.
+	 */
+	protected boolean hideMenu(RadialMenuWidget menu) {
+		if (showing != menu)
+			return false;
+		showing = null;
+		menu.clearFocus();
+		menu.setVisibility(View.INVISIBLE);
+		setVisibility(View.INVISIBLE);
+		return true;
+	}
+
+	/**
+	 * @param menu - Menu to check.
+	 * @return true if the menu is currently shown in the layer.
+	 */
+	protected boolean isShowing(RadialMenuWidget menu) {
+		return showing == menu;
+	}
+}
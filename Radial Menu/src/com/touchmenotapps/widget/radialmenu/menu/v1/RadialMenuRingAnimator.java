@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+/**
+ * This class times the opening and closing of the outer ring. The progress
+ * only depends on the time elapsed since the animation started, so the ring
+ * animates at the same speed whatever the frame rate of the device is.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuRingAnimator {
+
+	public static final long DEFAULT_DURATION = 120;
+
+	private long duration = DEFAULT_DURATION;
+	private Interpolator interpolator = new LinearInterpolator();
+	private long startTime = 0;
+	private boolean running = false;
+
+	/**
+	 * Starts the animation from the current animation time.
+	 */
+	protected void start() {
+		startTime = AnimationUtils.currentAnimationTimeMillis();
+		running = true;
+	}
+
+	/**
+	 * Stops the animation. Following updates report the end of the animation.
+	 */
+	protected void cancel() {
+		running = false;
+	}
+
+	/**
+	 * @return true while the animation is running.
+	 */
+	protected boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Computes the progress of the animation for the current animation time.
+	 * The animation stops once the progress reaches the end.
+	 * @return The interpolated progress.
+	 */
+	protected float update() {
+		float fraction = 1.0f;
+		if (running && duration > 0) {
+			fraction = (AnimationUtils.currentAnimationTimeMillis() - startTime)
+					/ (float) duration;
+		}
+		if (fraction >= 1.0f) {
+			fraction = 1.0f;
+			running = false;
+		}
+		return interpolator.getInterpolation(fraction);
+	}
+
+	/**
+	 * @param duration - Animation time in milliseconds.
+	 */
+	protected void setDuration(long duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * @param interpolator - Interpolator applied to the animation progress.
+	 */
+	protected void setInterpolator(Interpolator interpolator) {
+		this.interpolator = interpolator;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2012
+ * Jason Valestin (valestin@gmail.com ) and Arindam Nath (strider2023@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touchmenotapps.widget.radialmenu.menu.v1;
+
+import android.graphics.Matrix;
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * This class rotates, scales and moves the menu in a single animation, the
+ * same way a rotate, scale and translate animation in a shared interpolator
+ * AnimationSet do. Its values can be changed between runs, so the open and
+ * close animations are each one instance reused for every open and close.
+ *
+ * @author Jason Valestin (valestin@gmail.com )
+ * @author Arindam Nath (strider2023@gmail.com)
+ */
+public class RadialMenuSpriteAnimation extends Animation {
+
+	private float fromDegrees;
+	private float toDegrees;
+	private float fromScale;
+	private float toScale;
+	private float fromX;
+	private float toX;
+	private float fromY;
+	private float toY;
+	private float pivotX;
+	private float pivotY;
+
+	/**
+	 * @param fromDegrees - Rotation at the start.
+	 * @param toDegrees - Rotation at the end.
+	 * @param fromScale - Scale at the start.
+	 * @param toScale - Scale at the end.
+	 * @param fromX - X offset at the start.
+	 * @param toX - X offset at the end.
+	 * @param fromY - Y offset at the start.
+	 * @param toY - Y offset at the end.
+	 * @param pivotX - X of the rotation and scale center.
+	 * @param pivotY - Y of the rotation and scale center.
+	 */
+	protected void set(float fromDegrees, float toDegrees, float fromScale,
+			float toScale, float fromX, float toX, float fromY, float toY,
+			float pivotX, float pivotY) {
+		this.fromDegrees = fromDegrees;
+		this.toDegrees = toDegrees;
+		this.fromScale = fromScale;
+		this.toScale = toScale;
+		this.fromX = fromX;
+		this.toX = toX;
+		this.fromY = fromY;
+		this.toY = toY;
+		this.pivotX = pivotX;
+		this.pivotY = pivotY;
+	}
+
+	@Override
+	protected void applyTransformation(float interpolatedTime, Transformation t) {
+		float degrees = fromDegrees + ((toDegrees - fromDegrees) * interpolatedTime);
+		float scale = fromScale + ((toScale - fromScale) * interpolatedTime);
+		Matrix matrix = t.getMatrix();
+		// Rotates and scales around the pivot, then moves
+		matrix.setRotate(degrees, pivotX, pivotY);
+		matrix.postScale(scale, scale, pivotX, pivotY);
+		matrix.postTranslate(fromX + ((toX - fromX) * interpolatedTime), fromY
+				+ ((toY - fromY) * interpolatedTime));
+	}
+}
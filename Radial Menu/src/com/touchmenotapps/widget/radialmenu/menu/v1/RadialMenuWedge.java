@@ -27,10 +27,19 @@ import android.graphics.RectF;
  * @author Arindam Nath (strider2023@gmail.com)
  */
 public class RadialMenuWedge extends Path {
+	private static final int MAX_POOL_SIZE = 32;
+	private static final Object sPoolSync = new Object();
+	private static final RadialMenuWedge[] sPool = new RadialMenuWedge[MAX_POOL_SIZE];
+	private static int sPoolSize = 0;
+
+	private boolean mInPool = false; // Guarded by sPoolSync
 	private int x, y;
 	private int InnerSize, OuterSize;
 	private float StartArc;
 	private float ArcWidth;
+	private final RectF rect = new RectF();
+	private final RectF rect2 = new RectF();
+	private final RectF bounds = new RectF();
 
 	/**
 	 * 
@@ -56,12 +65,93 @@ public class RadialMenuWedge extends Path {
 		this.buildPath();
 	}
 
+	/**
+	 * Returns a wedge from the pool, or creates a new one if the pool is
+	 * empty.
+	 * @param x
+	 * @param y
+	 * @param InnerSize
+	 * @param OuterSize
+	 * @param StartArc
+	 * @param ArcWidth
+	 * @return The wedge with the given geometry.
+	 */
+	protected static RadialMenuWedge obtain(int x, int y, int InnerSize,
+			int OuterSize, float StartArc, float ArcWidth) {
+		RadialMenuWedge wedge = null;
+		synchronized (sPoolSync) {
+			if (sPoolSize > 0) {
+				wedge = sPool[--sPoolSize];
+				sPool[sPoolSize] = null;
+				wedge.mInPool = false;
+			}
+		}
+		if (wedge == null)
+			return new RadialMenuWedge(x, y, InnerSize, OuterSize, StartArc,
+					ArcWidth);
+		wedge.set(x, y, InnerSize, OuterSize, StartArc, ArcWidth);
+		return wedge;
+	}
+
+	/**
+	 * Returns the wedge to the pool. The wedge must not be used after this.
+	 * Recycling a wedge that is already in the pool does nothing, so that it
+	 * can not be handed out to two menus.
+	 */
+	protected void recycle() {
+		synchronized (sPoolSync) {
+			if (mInPool)
+				return;
+			if (sPoolSize < MAX_POOL_SIZE) {
+				mInPool = true;
+				sPool[sPoolSize++] = this;
+			}
+		}
+	}
+
+	/**
+	 * Updates the wedge geometry in place. The path is only rebuilt if any of
+	 * the values changed.
+	 * @param x
+	 * @param y
+	 * @param InnerSize
+	 * @param OuterSize
+	 * @param StartArc
+	 * @param ArcWidth
+	 */
+	protected void set(int x, int y, int InnerSize, int OuterSize,
+			float StartArc, float ArcWidth) {
+		if (StartArc >= 360) {
+			StartArc = StartArc - 360;
+		}
+		if (this.x == x && this.y == y && this.InnerSize == InnerSize
+				&& this.OuterSize == OuterSize && this.StartArc == StartArc
+				&& this.ArcWidth == ArcWidth)
+			return;
+		this.x = x;
+		this.y = y;
+		this.InnerSize = InnerSize;
+		this.OuterSize = OuterSize;
+		this.StartArc = StartArc;
+		this.ArcWidth = ArcWidth;
+		this.buildPath();
+	}
+
+	/**
+	 * Changes the outer radius and rebuilds the wedge in place.
+	 * @param OuterSize
+	 */
+	protected void setOuterSize(int OuterSize) {
+		if (this.OuterSize == OuterSize)
+			return;
+		this.OuterSize = OuterSize;
+		this.buildPath();
+	}
+
 	/**
 	 * 
 	 */
 	protected void buildPath() {
-		final RectF rect = new RectF();
-		final RectF rect2 = new RectF();
 		// Rectangles values
 		rect.set(this.x - this.InnerSize, this.y - this.InnerSize, this.x
 				+ this.InnerSize, this.y + this.InnerSize);
@@ -72,5 +162,13 @@ public class RadialMenuWedge extends Path {
 		this.arcTo(rect2, StartArc, ArcWidth);
 		this.arcTo(rect, StartArc + ArcWidth, -ArcWidth);
 		this.close();
+		this.computeBounds(bounds, true);
+	}
+
+	/**
+	 * @return Bounds of the wedge, updated whenever the path is rebuilt.
+	 */
+	protected RectF getBounds() {
+		return bounds;
 	}
 }
@@ -19,13 +19,23 @@ package com.touchmenotapps.widget.radialmenu.menu.v1;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import android.content.Context;
 import android.graphics.*;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Debug;
+import android.os.Handler;
 import android.view.*;
+import android.view.animation.Interpolator;
 import android.widget.PopupWindow;
 
+import com.touchmenotapps.widget.radialmenu.RadialMenuIconCache;
+import com.touchmenotapps.widget.radialmenu.RadialMenuIconCache.Icon;
+import com.touchmenotapps.widget.radialmenu.RadialMenuMetrics;
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
 /**
  * This is the core class that handles the widget display and user interaction.
  * 
@@ -35,9 +45,21 @@ import android.widget.PopupWindow;
 public class RadialMenuWidget extends View {
 
 	private RadialMenuHelper helper;
+	private RadialMenuHitTester hitTester;
 
 	private List<RadialMenuItem> menuEntries = new ArrayList<RadialMenuItem>();
+	// Entries of the current page plus the page wedges, see setMaxVisibleWedges
+	private List<RadialMenuItem> visibleEntries = new ArrayList<RadialMenuItem>();
+	private int maxVisibleWedges = 0;
+	private int updateDepth = 0; // Nesting of beginUpdate calls
+	private boolean updatePending = false;
+	private int page = 0;
+	private RadialMenuItem pagePrevious = new RadialMenuItem("Previous", "<");
+	private RadialMenuItem pageNext = new RadialMenuItem("Next", ">");
 	private RadialMenuItem centerCircle = null;
+	private RadialMenuLabelLayout centerLabel = null;
+	private Icon centerIcon = null;
+	private Rect centerIconRect = new Rect();
 
 	private float screen_density = getContext().getResources()
 			.getDisplayMetrics().density;
@@ -84,15 +106,21 @@ public class RadialMenuWidget extends View {
 	private RadialMenuWedge enabled = null; // Keeps track of which wedge is
 											// enabled for outer ring
 	private Rect[] iconRect = new Rect[wedgeQty];
+	private RadialMenuLabelLayout[] labels = new RadialMenuLabelLayout[wedgeQty]; // Measured labels
+	private Icon[] icons = new Icon[wedgeQty]; // Resolved icons
 
 	private int wedgeQty2 = 1; // Number of wedges
 	private RadialMenuWedge[] Wedges2 = new RadialMenuWedge[wedgeQty2];
 	private RadialMenuWedge selected2 = null; // Keeps track of which wedge is
 												// selected
 	private Rect[] iconRect2 = new Rect[wedgeQty2];
+	private RadialMenuLabelLayout[] labels2 = new RadialMenuLabelLayout[wedgeQty2];
+	private Icon[] icons2 = new Icon[wedgeQty2];
 	private RadialMenuInterface wedge2Data = null; // Keeps track off which menuItem
 												// data is being used for the
 												// outer ring
+	private List<RadialMenuItem> wedge2Children = null; // Children shown in the
+														// outer ring
 
 	private int MinSize = scalePX(35); // Radius of inner ring size
 	private int MaxSize = scalePX(90); // Radius of outer ring size
@@ -132,16 +160,64 @@ public class RadialMenuWidget extends View {
 	private RectF textBoxRect = new RectF();
 	private int headerTextLeft;
 	private int headerTextBottom;
+	private int headerCornerRadius = scalePX(5);
+
+	// Reused while drawing so that onDraw does not allocate
+	private Paint paint = new Paint();
+	private Rect textBounds = new Rect();
+	private Rect contentRect = new Rect();
+
+	// Offscreen copy of the menu without any selection, see setCachedRendering
+	private boolean cachedRendering = false;
+	private boolean renderCacheValid = false;
+	private Bitmap cacheBitmap = null;
+	private Canvas cacheCanvas = new Canvas();
+	private Rect cacheBounds = new Rect();
+	private Path centerClip = new Path(); // Centre circle, to clip its highlight
+	// Hardware accelerated canvases only clip to paths from API 18. Without
+	// hardware acceleration (before API 11) software canvases always can.
+	private static final boolean CLIP_PATH_SUPPORTED = Build.VERSION.SDK_INT < 11
+			|| Build.VERSION.SDK_INT >= 18;
+	private RadialMenuWedge cachedEnabled = null;
+	private boolean cachedWedge2Shown = false;
+
+	// Union of the areas whose drawing changed since the last invalidate
+	private Rect dirtyRect = new Rect();
+	private Rect menuBounds = new Rect();
+
+	private RadialMenuMetrics metrics = null;
+
+	private boolean trackDrawAllocations = false;
+	private int lastDrawAllocations = 0;
 
 	private static final int ANIMATE_IN = 1;
 	private static final int ANIMATE_OUT = 2;
 
-	private int animateSections = 4;
-	private int r2VariableSize;
+	private RadialMenuRingAnimator ringAnimator = new RadialMenuRingAnimator();
+	private float[] iconCos2 = new float[wedgeQty2]; // Direction of the outer
+	private float[] iconSin2 = new float[wedgeQty2]; // icons from the centre
 	private boolean animateOuterIn = false;
 	private boolean animateOuterOut = false;
 	
+	// Loads lazy submenus off the UI thread, see setAsyncChildLoading
+	private static final String PLACEHOLDER_LABEL = "...";
+	private Executor childLoadExecutor = null;
+	private List<RadialMenuItem> placeholderChildren = null;
+	private ChildLoadTask childLoad = null;
+	private PrepareTask prepareTask = null; // Layout being built by prepare
+	private int layoutGeneration = 0; // Bumped whenever the layout changes
+
+	// Drag through selection, see setDragSelection
+	public static final long DEFAULT_SUBMENU_DWELL_TIME = 400;
+	private boolean dragSelection = false;
+	private long submenuDwellTime = DEFAULT_SUBMENU_DWELL_TIME;
+	private int dragWedge = RadialMenuHitTester.NO_WEDGE;
+	private boolean dragOpened = false; // Submenu opened during this gesture
+	private Handler mainHandler;
+
 	private PopupWindow mWindow;
+	private boolean overlayHost = false;
+	private RadialMenuOverlay overlay = null; // Layer the menu was last shown in
 
 	/**
 	 * Radial menu widget constructor.
@@ -155,6 +231,10 @@ public class RadialMenuWidget extends View {
 	public RadialMenuWidget(Context context) {
 		super(context);
 		helper = new RadialMenuHelper();
+		hitTester = new RadialMenuHitTester();
+		paint.setAntiAlias(true);
+		paint.setStrokeWidth(3);
+		mainHandler = new Handler();
 		mWindow = helper.initPopup(context);
 		// Gets screen specs and defaults to center of screen
 		this.xPosition = (getResources().getDisplayMetrics().widthPixels) / 2;
@@ -166,9 +246,16 @@ public class RadialMenuWidget extends View {
 
 	@Override
 	public boolean onTouchEvent(MotionEvent e) {
+		if (metrics != null) {
+			metrics.markTouch(e);
+		}
 		int state = e.getAction();
 		int eventX = (int) e.getX();
 		int eventY = (int) e.getY();
+		RadialMenuWedge lastSelected = selected;
+		RadialMenuWedge lastSelected2 = selected2;
+		RadialMenuWedge lastEnabled = enabled;
+		boolean lastInCircle = inCircle;
 		if (state == MotionEvent.ACTION_DOWN) {
 			// selected = null;
 			// selected2 = null;
@@ -176,79 +263,59 @@ public class RadialMenuWidget extends View {
 			inWedge2 = false;
 			inCircle = false;
 
+			// Locates the touch once for the centre circle and both rings
+			hitTester.locate(eventX, eventY);
+
 			// Checks if a pie slice is selected in first Wedge
-			for (int i = 0; i < Wedges.length; i++) {
-				RadialMenuWedge f = Wedges[i];
-				double slice = (2 * Math.PI) / wedgeQty;
-				double start = (2 * Math.PI) * (0.75) - (slice / 2); // this is
-																		// done
-																		// so
-																		// top
-																		// slice
-																		// is
-																		// the
-																		// centered
-																		// on
-																		// top
-																		// of
-																		// the
-																		// circle
-
-				inWedge = helper
-						.pntInWedge(eventX, eventY, xPosition, yPosition,
-								MinSize, MaxSize, (i * slice) + start, slice);
-
-				if (inWedge == true) {
-					selected = f;
-					break;
-				}
+			int wedge = hitTester.getInnerWedge();
+			if (wedge != RadialMenuHitTester.NO_WEDGE && wedge < Wedges.length) {
+				inWedge = true;
+				selected = Wedges[wedge];
 			}
 
 			// Checks if a pie slice is selected in second Wedge
 			if (Wedge2Shown == true) {
-				for (int i = 0; i < Wedges2.length; i++) {
-					RadialMenuWedge f = Wedges2[i];
-					double slice = (2 * Math.PI) / wedgeQty2;
-					double start = (2 * Math.PI) * (0.75) - (slice / 2); // this
-																			// is
-																			// done
-																			// so
-																			// top
-																			// slice
-																			// is
-																			// the
-																			// centered
-																			// on
-																			// top
-																			// of
-																			// the
-																			// circle
-
-					inWedge2 = helper.pntInWedge(eventX, eventY, xPosition,
-							yPosition, r2MinSize, r2MaxSize, (i * slice)
-									+ start, slice);
-
-					if (inWedge2 == true) {
-						selected2 = f;
-						break;
-					}
+				int wedge2 = hitTester.getOuterWedge();
+				if (wedge2 != RadialMenuHitTester.NO_WEDGE
+						&& wedge2 < Wedges2.length) {
+					inWedge2 = true;
+					selected2 = Wedges2[wedge2];
 				}
-
 			}
 
 			// Checks if center is there and is selected
 			if(centerCircle != null) {
-				inCircle = helper.pntInCircle(eventX, eventY, xPosition, yPosition,
-						cRadius);
+				inCircle = hitTester.isInCenter();
+				if (inCircle == true) {
+					helper.onCloseAnimation(this, xPosition, yPosition, xSource,
+							ySource);
+				}
+			}
+
+			if (dragSelection == true) {
+				dragOpened = false;
+				setDragWedge(inWedge ? wedge : RadialMenuHitTester.NO_WEDGE);
+			}
+
+		} else if (state == MotionEvent.ACTION_MOVE && dragSelection == true) {
+			// Samples batched into this event are hit tested in order, so a
+			// fast sweep does not skip wedges
+			int historySize = e.getHistorySize();
+			for (int h = 0; h < historySize; h++) {
+				dragTo(e.getHistoricalX(h), e.getHistoricalY(h));
 			}
+			dragTo(e.getX(), e.getY());
 
 		} else if (state == MotionEvent.ACTION_UP) {
+			if (dragSelection == true) {
+				setDragWedge(RadialMenuHitTester.NO_WEDGE);
+			}
 			// execute commands...
 			// put in stuff here to "return" the button that was pressed.
 			if (inCircle == true) {
 				if (Wedge2Shown == true) {
 					enabled = null;
-					animateOuterIn = true; // sets Wedge2Shown = false;
+					startOuterRingAnimation(ANIMATE_IN); // sets Wedge2Shown = false;
 				}
 				selected = null;
 				centerCircle.menuActiviated();
@@ -261,33 +328,30 @@ public class RadialMenuWidget extends View {
 						// Checks if a inner ring is enabled if so closes the
 						// outer ring an
 						if (enabled != null) {
-							enabled = null;
-							animateOuterIn = true; // sets Wedge2Shown = false;
+							// Lifting the finger on the wedge whose submenu
+							// was just dragged open keeps it open
+							if (dragOpened == false || f != enabled) {
+								enabled = null;
+								startOuterRingAnimation(ANIMATE_IN); // sets Wedge2Shown = false;
+							}
 							// If outer ring is not enabled, then executes event
 						} else {
-							menuEntries.get(i).menuActiviated();
-
-							// Figures out how many outer rings
-							if (menuEntries.get(i).getChildren() != null) {
-								determineOuterWedges(menuEntries.get(i));
-								enabled = f;
-								animateOuterOut = true; // sets Wedge2Shown =
-														// true;
-							} else {
-								Wedge2Shown = false;
-							}
+							activateEntry(i);
 						}
 						selected = null;
 					}
 				}
+			} else if (selected2 != null && childLoad != null) {
+				// Placeholder wedges can not be activated, the ring stays open
+				// until the children are loaded
 			} else if (selected2 != null) {
 				for (int i = 0; i < Wedges2.length; i++) {
 					RadialMenuWedge f = Wedges2[i];
 					if (f == selected2) {
-						animateOuterIn = true; // sets Wedge2Shown = false;
+						startOuterRingAnimation(ANIMATE_IN); // sets Wedge2Shown = false;
 						enabled = null;
 						selected = null;
-						wedge2Data.getChildren().get(i).menuActiviated();
+						wedge2Children.get(i).menuActiviated();
 					}
 				}
 			} else {
@@ -300,18 +364,119 @@ public class RadialMenuWidget extends View {
 			// selected = null;
 			selected2 = null;
 			inCircle = false;
+
+		} else if (state == MotionEvent.ACTION_CANCEL) {
+			// The gesture was taken away, so nothing is activated and a
+			// pending dwell does not open a submenu
+			setDragWedge(RadialMenuHitTester.NO_WEDGE);
+			dragOpened = false;
+			selected = null;
+			selected2 = null;
+			inWedge = false;
+			inWedge2 = false;
+			inCircle = false;
 		}
-		invalidate();
+
+		// Only redraws the items whose state changed
+		if (enabled != lastEnabled) {
+			addDirtyMenu();
+		}
+		if (selected != lastSelected) {
+			addDirtyWedge(lastSelected);
+			addDirtyWedge(selected);
+		}
+		if (selected2 != lastSelected2) {
+			addDirtyWedge(lastSelected2);
+			addDirtyWedge(selected2);
+		}
+		if (inCircle != lastInCircle) {
+			addDirtyCenter();
+		}
+		invalidateDirty();
 		return true;
 	}
 
 	@Override
 	protected void onDraw(Canvas c) {
+		long drawStart = metrics != null ? System.nanoTime() : 0;
+		if (trackDrawAllocations) {
+			Debug.resetThreadAllocCount();
+			Debug.startAllocCounting();
+			drawMenu(c);
+			Debug.stopAllocCounting();
+			lastDrawAllocations = Debug.getThreadAllocCount();
+		} else {
+			drawMenu(c);
+		}
+		if (metrics != null) {
+			metrics.recordFrame(drawStart);
+		}
+	}
 
-		Paint paint = new Paint();
-		paint.setAntiAlias(true);
-		paint.setStrokeWidth(3);
+	/**
+	 * Draws the complete menu. Everything used here (paint, rects, label layouts
+	 * and icon drawables) is prepared ahead of time, so no objects are
+	 * allocated while drawing a frame.
+	 * @param c - Canvas to draw on.
+	 */
+	private void drawMenu(Canvas c) {
+		// Animate the outer ring in/out
+		if (animateOuterIn == true) {
+			animateOuterWedges(ANIMATE_IN);
+		} else if (animateOuterOut == true) {
+			animateOuterWedges(ANIMATE_OUT);
+		}
+
+		if (HeaderBoxBounded == false && headerString != null) {
+			determineHeaderBox();
+			HeaderBoxBounded = true;
+		}
+
+		if (cachedRendering == true && animateOuterIn == false
+				&& animateOuterOut == false) {
+			if (isRenderCacheValid() == false) {
+				buildRenderCache();
+			}
+			int highlight = highlightedWedge();
+			int highlight2 = highlightedWedge2();
+			boolean highlightCenter = centerCircle != null && inCircle == true;
+			boolean highlighted = highlight != RadialMenuHitTester.NO_WEDGE
+					|| highlight2 != RadialMenuHitTester.NO_WEDGE
+					|| highlightCenter == true;
+			// Highlighted frames are drawn directly where the highlighted items
+			// can not be clipped out of the cache
+			if (cacheBitmap != null && (CLIP_PATH_SUPPORTED || highlighted == false)) {
+				// Leaves the highlighted items out of the cache, so they are
+				// not blended over their normal state
+				int saveCount = c.save();
+				if (highlight != RadialMenuHitTester.NO_WEDGE) {
+					c.clipPath(Wedges[highlight], Region.Op.DIFFERENCE);
+				}
+				if (highlight2 != RadialMenuHitTester.NO_WEDGE) {
+					c.clipPath(Wedges2[highlight2], Region.Op.DIFFERENCE);
+				}
+				if (highlightCenter == true) {
+					centerClip.rewind();
+					centerClip.addCircle(xPosition, yPosition, cRadius,
+							Path.Direction.CW);
+					c.clipPath(centerClip, Region.Op.DIFFERENCE);
+				}
+				c.drawBitmap(cacheBitmap, cacheBounds.left, cacheBounds.top, null);
+				c.restoreToCount(saveCount);
+				drawHighlights(c, highlight, highlight2, highlightCenter);
+				return;
+			}
+		}
+		drawContent(c, true);
+	}
 
+	/**
+	 * Draws the source dot, both rings, the centre circle and the header.
+	 * @param c - Canvas to draw on.
+	 * @param highlight - false to draw every item in its normal state, as
+	 * used for the render cache.
+	 */
+	private void drawContent(Canvas c, boolean highlight) {
 		// draws a dot at the source of the press
 		if (showSource == true) {
 			paint.setColor(outlineColor);
@@ -326,398 +491,30 @@ public class RadialMenuWidget extends View {
 		}
 
 		for (int i = 0; i < Wedges.length; i++) {
-			RadialMenuWedge f = Wedges[i];
-			paint.setColor(outlineColor);
-			paint.setAlpha(outlineAlpha);
-			paint.setStyle(Paint.Style.STROKE);
-			c.drawPath(f, paint);
-			if (f == enabled && Wedge2Shown == true) {
-				paint.setColor(wedge2Color);
-				paint.setAlpha(wedge2Alpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawPath(f, paint);
-			} else if (f != enabled && Wedge2Shown == true) {
-				paint.setColor(disabledColor);
-				paint.setAlpha(disabledAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawPath(f, paint);
-			} else if (f == enabled && Wedge2Shown == false) {
-				paint.setColor(wedge2Color);
-				paint.setAlpha(wedge2Alpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawPath(f, paint);
-			} else if (f == selected) {
-				paint.setColor(wedge2Color);
-				paint.setAlpha(wedge2Alpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawPath(f, paint);
-			} else {
-				paint.setColor(defaultColor);
-				paint.setAlpha(defaultAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawPath(f, paint);
-			}
-
-			Rect rf = iconRect[i];
-
-			if ((menuEntries.get(i).getIcon() != 0)
-					&& (menuEntries.get(i).getLabel() != null)) {
-
-				// This will look for a "new line" and split into multiple lines
-				String menuItemName = menuEntries.get(i).getLabel();
-				String[] stringArray = menuItemName.split("\n");
-
-				paint.setColor(textColor);
-				if (f != enabled && Wedge2Shown == true) {
-					paint.setAlpha(disabledAlpha);
-				} else {
-					paint.setAlpha(textAlpha);
-				}
-				paint.setStyle(Paint.Style.FILL);
-				paint.setTextSize(textSize);
-
-				Rect rect = new Rect();
-				float textHeight = 0;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0,
-							stringArray[j].length(), rect);
-					textHeight = textHeight + (rect.height() + 3);
-				}
-
-				Rect rf2 = new Rect();
-				rf2.set(rf.left, rf.top - ((int) textHeight / 2), rf.right,
-						rf.bottom - ((int) textHeight / 2));
-
-				float textBottom = rf2.bottom;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0,
-							stringArray[j].length(), rect);
-					float textLeft = rf.centerX() - rect.width() / 2;
-					textBottom = textBottom + (rect.height() + 3);
-					c.drawText(stringArray[j], textLeft - rect.left, textBottom
-							- rect.bottom, paint);
-				}
-
-				// Puts in the Icon
-				Drawable drawable = getResources().getDrawable(
-						menuEntries.get(i).getIcon());
-				drawable.setBounds(rf2);
-				if (f != enabled && Wedge2Shown == true) {
-					drawable.setAlpha(disabledAlpha);
-				} else {
-					drawable.setAlpha(pictureAlpha);
-				}
-				drawable.draw(c);
-
-				// Icon Only
-			} else if (menuEntries.get(i).getIcon() != 0) {
-				// Puts in the Icon
-				Drawable drawable = getResources().getDrawable(
-						menuEntries.get(i).getIcon());
-				drawable.setBounds(rf);
-				if (f != enabled && Wedge2Shown == true) {
-					drawable.setAlpha(disabledAlpha);
-				} else {
-					drawable.setAlpha(pictureAlpha);
-				}
-				drawable.draw(c);
-
-				// Text Only
-			} else {
-				// Puts in the Text if no Icon
-				paint.setColor(textColor);
-				if (f != enabled && Wedge2Shown == true) {
-					paint.setAlpha(disabledAlpha);
-				} else {
-					paint.setAlpha(textAlpha);
-				}
-				paint.setStyle(Paint.Style.FILL);
-				paint.setTextSize(textSize);
-
-				// This will look for a "new line" and split into multiple lines
-				String menuItemName = menuEntries.get(i).getLabel();
-				String[] stringArray = menuItemName.split("\n");
-
-				// gets total height
-				Rect rect = new Rect();
-				float textHeight = 0;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0,
-							stringArray[j].length(), rect);
-					textHeight = textHeight + (rect.height() + 3);
-				}
-
-				float textBottom = rf.centerY() - (textHeight / 2);
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0,
-							stringArray[j].length(), rect);
-					float textLeft = rf.centerX() - rect.width() / 2;
-					textBottom = textBottom + (rect.height() + 3);
-					c.drawText(stringArray[j], textLeft - rect.left, textBottom
-							- rect.bottom, paint);
-				}
-			}
-
-		}
-
-		// Animate the outer ring in/out
-		if (animateOuterIn == true) {
-			animateOuterWedges(ANIMATE_IN);
-		} else if (animateOuterOut == true) {
-			animateOuterWedges(ANIMATE_OUT);
+			drawInnerWedge(c, i, highlight);
 		}
 
 		if (Wedge2Shown == true) {
-
 			for (int i = 0; i < Wedges2.length; i++) {
-				RadialMenuWedge f = Wedges2[i];
-				paint.setColor(outlineColor);
-				paint.setAlpha(outlineAlpha);
-				paint.setStyle(Paint.Style.STROKE);
-				c.drawPath(f, paint);
-				if (f == selected2) {
-					paint.setColor(selectedColor);
-					paint.setAlpha(selectedAlpha);
-					paint.setStyle(Paint.Style.FILL);
-					c.drawPath(f, paint);
-				} else {
-					paint.setColor(wedge2Color);
-					paint.setAlpha(wedge2Alpha);
-					paint.setStyle(Paint.Style.FILL);
-					c.drawPath(f, paint);
-				}
-
-				Rect rf = iconRect2[i];
-				if ((wedge2Data.getChildren().get(i).getIcon() != 0)
-						&& (wedge2Data.getChildren().get(i).getLabel() != null)) {
-
-					// This will look for a "new line" and split into multiple
-					// lines
-					String menuItemName = wedge2Data.getChildren().get(i)
-							.getLabel();
-					String[] stringArray = menuItemName.split("\n");
-
-					paint.setColor(textColor);
-					paint.setAlpha(textAlpha);
-					paint.setStyle(Paint.Style.FILL);
-					paint.setTextSize(animateTextSize);
-
-					Rect rect = new Rect();
-					float textHeight = 0;
-					for (int j = 0; j < stringArray.length; j++) {
-						paint.getTextBounds(stringArray[j], 0,
-								stringArray[j].length(), rect);
-						textHeight = textHeight + (rect.height() + 3);
-					}
-
-					Rect rf2 = new Rect();
-					rf2.set(rf.left, rf.top - ((int) textHeight / 2), rf.right,
-							rf.bottom - ((int) textHeight / 2));
-
-					float textBottom = rf2.bottom;
-					for (int j = 0; j < stringArray.length; j++) {
-						paint.getTextBounds(stringArray[j], 0,
-								stringArray[j].length(), rect);
-						float textLeft = rf.centerX() - rect.width() / 2;
-						textBottom = textBottom + (rect.height() + 3);
-						c.drawText(stringArray[j], textLeft - rect.left,
-								textBottom - rect.bottom, paint);
-					}
-
-					// Puts in the Icon
-					Drawable drawable = getResources().getDrawable(
-							wedge2Data.getChildren().get(i).getIcon());
-					drawable.setBounds(rf2);
-					drawable.setAlpha(pictureAlpha);
-					drawable.draw(c);
-
-					// Icon Only
-				} else if (wedge2Data.getChildren().get(i).getIcon() != 0) {
-					// Puts in the Icon
-					Drawable drawable = getResources().getDrawable(
-							wedge2Data.getChildren().get(i).getIcon());
-					drawable.setBounds(rf);
-					drawable.setAlpha(pictureAlpha);
-					drawable.draw(c);
-
-					// Text Only
-				} else {
-					// Puts in the Text if no Icon
-					paint.setColor(textColor);
-					paint.setAlpha(textAlpha);
-					paint.setStyle(Paint.Style.FILL);
-					paint.setTextSize(animateTextSize);
-
-					// This will look for a "new line" and split into multiple
-					// lines
-					String menuItemName = wedge2Data.getChildren().get(i)
-							.getLabel();
-					String[] stringArray = menuItemName.split("\n");
-
-					// gets total height
-					Rect rect = new Rect();
-					float textHeight = 0;
-					for (int j = 0; j < stringArray.length; j++) {
-						paint.getTextBounds(stringArray[j], 0,
-								stringArray[j].length(), rect);
-						textHeight = textHeight + (rect.height() + 3);
-					}
-
-					float textBottom = rf.centerY() - (textHeight / 2);
-					for (int j = 0; j < stringArray.length; j++) {
-						paint.getTextBounds(stringArray[j], 0,
-								stringArray[j].length(), rect);
-						float textLeft = rf.centerX() - rect.width() / 2;
-						textBottom = textBottom + (rect.height() + 3);
-						c.drawText(stringArray[j], textLeft - rect.left,
-								textBottom - rect.bottom, paint);
-					}
-				}
+				drawOuterWedge(c, i, highlight && Wedges2[i] == selected2);
 			}
 		}
 
 		//Check if the user has given input for centre circle
 		if(centerCircle != null) {
-			// Draws the Middle Circle
-			paint.setColor(outlineColor);
-			paint.setAlpha(outlineAlpha);
-			paint.setStyle(Paint.Style.STROKE);
-			c.drawCircle(xPosition, yPosition, cRadius, paint);
-			if (inCircle == true) {
-				paint.setColor(selectedColor);
-				paint.setAlpha(selectedAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawCircle(xPosition, yPosition, cRadius, paint);
-				helper.onCloseAnimation(this, xPosition, yPosition, xSource,
-						ySource);
-			} else {
-				paint.setColor(defaultColor);
-				paint.setAlpha(defaultAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				c.drawCircle(xPosition, yPosition, cRadius, paint);
-			}
-			
-			// Draw the circle picture
-			if ((centerCircle.getIcon() != 0) && (centerCircle.getLabel() != null)) {
-	
-				// This will look for a "new line" and split into multiple lines
-				String menuItemName = centerCircle.getLabel();
-				String[] stringArray = menuItemName.split("\n");
-	
-				paint.setColor(textColor);
-				paint.setAlpha(textAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				paint.setTextSize(textSize);
-	
-				Rect rectText = new Rect();
-				Rect rectIcon = new Rect();
-				Drawable drawable = getResources().getDrawable(
-						centerCircle.getIcon());
-	
-				int h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-						MaxIconSize);
-				int w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-						MaxIconSize);
-				rectIcon.set(xPosition - w / 2, yPosition - h / 2, xPosition + w
-						/ 2, yPosition + h / 2);
-	
-				float textHeight = 0;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0, stringArray[j].length(),
-							rectText);
-					textHeight = textHeight + (rectText.height() + 3);
-				}
-	
-				rectIcon.set(rectIcon.left, rectIcon.top - ((int) textHeight / 2),
-						rectIcon.right, rectIcon.bottom - ((int) textHeight / 2));
-	
-				float textBottom = rectIcon.bottom;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0, stringArray[j].length(),
-							rectText);
-					float textLeft = xPosition - rectText.width() / 2;
-					textBottom = textBottom + (rectText.height() + 3);
-					c.drawText(stringArray[j], textLeft - rectText.left, textBottom
-							- rectText.bottom, paint);
-				}
-	
-				// Puts in the Icon
-				drawable.setBounds(rectIcon);
-				drawable.setAlpha(pictureAlpha);
-				drawable.draw(c);
-	
-				// Icon Only
-			} else if (centerCircle.getIcon() != 0) {
-	
-				Rect rect = new Rect();
-	
-				Drawable drawable = getResources().getDrawable(
-						centerCircle.getIcon());
-	
-				int h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-						MaxIconSize);
-				int w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-						MaxIconSize);
-				rect.set(xPosition - w / 2, yPosition - h / 2, xPosition + w / 2,
-						yPosition + h / 2);
-	
-				drawable.setBounds(rect);
-				drawable.setAlpha(pictureAlpha);
-				drawable.draw(c);
-	
-				// Text Only
-			} else {
-				// Puts in the Text if no Icon
-				paint.setColor(textColor);
-				paint.setAlpha(textAlpha);
-				paint.setStyle(Paint.Style.FILL);
-				paint.setTextSize(textSize);
-	
-				// This will look for a "new line" and split into multiple lines
-				String menuItemName = centerCircle.getLabel();
-				String[] stringArray = menuItemName.split("\n");
-	
-				// gets total height
-				Rect rect = new Rect();
-				float textHeight = 0;
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0, stringArray[j].length(),
-							rect);
-					textHeight = textHeight + (rect.height() + 3);
-				}
-	
-				float textBottom = yPosition - (textHeight / 2);
-				for (int j = 0; j < stringArray.length; j++) {
-					paint.getTextBounds(stringArray[j], 0, stringArray[j].length(),
-							rect);
-					float textLeft = xPosition - rect.width() / 2;
-					textBottom = textBottom + (rect.height() + 3);
-					c.drawText(stringArray[j], textLeft - rect.left, textBottom
-							- rect.bottom, paint);
-				}
-	
-			}
+			drawCenterCircle(c, highlight && inCircle);
 		}
 
 		// Draws Text in TextBox
 		if (headerString != null) {
-
-			paint.setTextSize(headerTextSize);
-			paint.getTextBounds(headerString, 0, headerString.length(),
-					this.textRect);
-			if (HeaderBoxBounded == false) {
-				determineHeaderBox();
-				HeaderBoxBounded = true;
-			}
-
 			paint.setColor(outlineColor);
 			paint.setAlpha(outlineAlpha);
 			paint.setStyle(Paint.Style.STROKE);
-			c.drawRoundRect(this.textBoxRect, scalePX(5), scalePX(5), paint);
+			c.drawRoundRect(this.textBoxRect, headerCornerRadius, headerCornerRadius, paint);
 			paint.setColor(headerBackgroundColor);
 			paint.setAlpha(headerBackgroundAlpha);
 			paint.setStyle(Paint.Style.FILL);
-			c.drawRoundRect(this.textBoxRect, scalePX(5), scalePX(5), paint);
+			c.drawRoundRect(this.textBoxRect, headerCornerRadius, headerCornerRadius, paint);
 
 			paint.setColor(headerTextColor);
 			paint.setAlpha(headerTextAlpha);
@@ -725,279 +522,1043 @@ public class RadialMenuWidget extends View {
 			paint.setTextSize(headerTextSize);
 			c.drawText(headerString, headerTextLeft, headerTextBottom, paint);
 		}
-
 	}
 
-	private int scalePX(int dp_size) {
-		int px_size = (int) (dp_size * screen_density + 0.5f);
-		return px_size;
+	/**
+	 * @return Index of the inner wedge shown as selected, or
+	 * RadialMenuHitTester.NO_WEDGE.
+	 */
+	private int highlightedWedge() {
+		// An inner wedge only shows as selected when no outer ring is enabled
+		if (selected != null && selected != enabled && Wedge2Shown == false) {
+			for (int i = 0; i < Wedges.length; i++) {
+				if (Wedges[i] == selected)
+					return i;
+			}
+		}
+		return RadialMenuHitTester.NO_WEDGE;
 	}
-	
-	private int getIconSize(int iconSize, int minSize, int maxSize) {
 
-		if (iconSize > minSize) {
-			if (iconSize > maxSize) {
-				return maxSize;
-			} else { // iconSize < maxSize
-				return iconSize;
+	/**
+	 * @return Index of the outer wedge shown as selected, or
+	 * RadialMenuHitTester.NO_WEDGE.
+	 */
+	private int highlightedWedge2() {
+		if (selected2 != null && Wedge2Shown == true) {
+			for (int i = 0; i < Wedges2.length; i++) {
+				if (Wedges2[i] == selected2)
+					return i;
 			}
-		} else { // iconSize < minSize
-			return minSize;
 		}
+		return RadialMenuHitTester.NO_WEDGE;
+	}
 
+	/**
+	 * Draws only the selected items into the holes left in the render cache.
+	 * Each item is clipped to its own shape, so the part of its outline
+	 * outside the shape is kept from the cache and not drawn twice.
+	 * @param c - Canvas to draw on.
+	 * @param highlight - Selected inner wedge or RadialMenuHitTester.NO_WEDGE.
+	 * @param highlight2 - Selected outer wedge or RadialMenuHitTester.NO_WEDGE.
+	 * @param highlightCenter - true if the centre circle is selected.
+	 */
+	private void drawHighlights(Canvas c, int highlight, int highlight2,
+			boolean highlightCenter) {
+		int saveCount;
+		if (highlight != RadialMenuHitTester.NO_WEDGE) {
+			saveCount = c.save();
+			c.clipPath(Wedges[highlight]);
+			drawInnerWedge(c, highlight, true);
+			c.restoreToCount(saveCount);
+		}
+		if (highlight2 != RadialMenuHitTester.NO_WEDGE) {
+			saveCount = c.save();
+			c.clipPath(Wedges2[highlight2]);
+			drawOuterWedge(c, highlight2, true);
+			c.restoreToCount(saveCount);
+		}
+		if (highlightCenter == true) {
+			saveCount = c.save();
+			c.clipPath(centerClip);
+			drawCenterCircle(c, true);
+			c.restoreToCount(saveCount);
+		}
 	}
 
-	private void animateOuterWedges(int animation_direction) {
-		boolean animationComplete = false;
-		// Wedge 2
-		float slice2 = 360 / wedgeQty2;
-		float start_slice2 = 270 - (slice2 / 2);
-		// calculates where to put the images
-		double rSlice2 = (2 * Math.PI) / wedgeQty2;
-		double rStart2 = (2 * Math.PI) * (0.75) - (rSlice2 / 2);
+	/**
+	 * Draws an inner ring wedge along with its icon and label.
+	 * @param c - Canvas to draw on.
+	 * @param i - Wedge index.
+	 * @param highlight - true to show the wedge as selected.
+	 */
+	private void drawInnerWedge(Canvas c, int i, boolean highlight) {
+		RadialMenuWedge f = Wedges[i];
+		paint.setColor(outlineColor);
+		paint.setAlpha(outlineAlpha);
+		paint.setStyle(Paint.Style.STROKE);
+		c.drawPath(f, paint);
+		if (f == enabled && Wedge2Shown == true) {
+			paint.setColor(wedge2Color);
+			paint.setAlpha(wedge2Alpha);
+		} else if (f != enabled && Wedge2Shown == true) {
+			paint.setColor(disabledColor);
+			paint.setAlpha(disabledAlpha);
+		} else if (f == enabled && Wedge2Shown == false) {
+			paint.setColor(wedge2Color);
+			paint.setAlpha(wedge2Alpha);
+		} else if (highlight && f == selected) {
+			paint.setColor(wedge2Color);
+			paint.setAlpha(wedge2Alpha);
+		} else {
+			paint.setColor(defaultColor);
+			paint.setAlpha(defaultAlpha);
+		}
+		paint.setStyle(Paint.Style.FILL);
+		c.drawPath(f, paint);
+
+		if (f != enabled && Wedge2Shown == true) {
+			drawItemContent(c, iconRect[i], labels[i], icons[i],
+					textSize, disabledAlpha, disabledAlpha);
+		} else {
+			drawItemContent(c, iconRect[i], labels[i], icons[i],
+					textSize, textAlpha, pictureAlpha);
+		}
+	}
 
-		this.Wedges2 = new RadialMenuWedge[wedgeQty2];
-		this.iconRect2 = new Rect[wedgeQty2];
+	/**
+	 * Draws an outer ring wedge along with its icon and label.
+	 * @param c - Canvas to draw on.
+	 * @param i - Wedge index.
+	 * @param highlight - true to show the wedge as selected.
+	 */
+	private void drawOuterWedge(Canvas c, int i, boolean highlight) {
+		RadialMenuWedge f = Wedges2[i];
+		paint.setColor(outlineColor);
+		paint.setAlpha(outlineAlpha);
+		paint.setStyle(Paint.Style.STROKE);
+		c.drawPath(f, paint);
+		if (highlight) {
+			paint.setColor(selectedColor);
+			paint.setAlpha(selectedAlpha);
+		} else {
+			paint.setColor(wedge2Color);
+			paint.setAlpha(wedge2Alpha);
+		}
+		paint.setStyle(Paint.Style.FILL);
+		c.drawPath(f, paint);
 
-		Wedge2Shown = true;
+		drawItemContent(c, iconRect2[i], labels2[i], icons2[i],
+				animateTextSize, textAlpha, pictureAlpha);
+	}
+
+	/**
+	 * Draws the centre circle along with its icon and label.
+	 * @param c - Canvas to draw on.
+	 * @param highlight - true to show the circle as selected.
+	 */
+	private void drawCenterCircle(Canvas c, boolean highlight) {
+		paint.setColor(outlineColor);
+		paint.setAlpha(outlineAlpha);
+		paint.setStyle(Paint.Style.STROKE);
+		c.drawCircle(xPosition, yPosition, cRadius, paint);
+		if (highlight) {
+			paint.setColor(selectedColor);
+			paint.setAlpha(selectedAlpha);
+		} else {
+			paint.setColor(defaultColor);
+			paint.setAlpha(defaultAlpha);
+		}
+		paint.setStyle(Paint.Style.FILL);
+		c.drawCircle(xPosition, yPosition, cRadius, paint);
 
-		int wedgeSizeChange = (r2MaxSize - r2MinSize) / animateSections;
+		// Draw the circle picture
+		drawItemContent(c, centerIconRect, centerLabel, centerIcon,
+				textSize, textAlpha, pictureAlpha);
+	}
 
-		if (animation_direction == ANIMATE_OUT) {
-			if (r2MinSize + r2VariableSize + wedgeSizeChange < r2MaxSize) {
-				r2VariableSize += wedgeSizeChange;
-			} else {
-				animateOuterOut = false;
-				r2VariableSize = r2MaxSize - r2MinSize;
-				animationComplete = true;
+	/**
+	 * @return true if the render cache matches the current model, theme,
+	 * geometry and ring state.
+	 */
+	private boolean isRenderCacheValid() {
+		return renderCacheValid && cacheBitmap != null
+				&& cachedEnabled == enabled && cachedWedge2Shown == Wedge2Shown;
+	}
+
+	/**
+	 * Marks the render cache as out of date. It is rebuilt on the next frame
+	 * drawn in cached rendering mode.
+	 */
+	private void invalidateRenderCache() {
+		renderCacheValid = false;
+	}
+
+	/**
+	 * Draws the menu, without any selection, into an offscreen bitmap that
+	 * covers the rings, the centre circle and the header.
+	 */
+	private void buildRenderCache() {
+		computeMenuBounds(cacheBounds);
+
+		if (cacheBitmap == null || cacheBitmap.getWidth() != cacheBounds.width()
+				|| cacheBitmap.getHeight() != cacheBounds.height()) {
+			releaseRenderCache();
+			try {
+				cacheBitmap = Bitmap.createBitmap(cacheBounds.width(),
+						cacheBounds.height(), Bitmap.Config.ARGB_8888);
+			} catch (OutOfMemoryError e) {
+				// Falls back to drawing directly
+				cacheBitmap = null;
+				return;
 			}
+			cacheCanvas.setBitmap(cacheBitmap);
+		} else {
+			cacheBitmap.eraseColor(Color.TRANSPARENT);
+		}
 
-			// animates text size change
-			this.animateTextSize = (textSize / animateSections)
-					* (r2VariableSize / wedgeSizeChange);
+		int saveCount = cacheCanvas.save();
+		cacheCanvas.translate(-cacheBounds.left, -cacheBounds.top);
+		drawContent(cacheCanvas, false);
+		cacheCanvas.restoreToCount(saveCount);
 
-			// calculates new wedge sizes
-			for (int i = 0; i < Wedges2.length; i++) {
-				this.Wedges2[i] = new RadialMenuWedge(xPosition, yPosition,
-						r2MinSize, r2MinSize + r2VariableSize, (i * slice2)
-								+ start_slice2, slice2);
-				float xCenter = (float) (Math
-						.cos(((rSlice2 * i) + (rSlice2 * 0.5)) + rStart2)
-						* (r2MinSize + r2VariableSize + r2MinSize) / 2)
-						+ xPosition;
-				float yCenter = (float) (Math
-						.sin(((rSlice2 * i) + (rSlice2 * 0.5)) + rStart2)
-						* (r2MinSize + r2VariableSize + r2MinSize) / 2)
-						+ yPosition;
-
-				int h = MaxIconSize;
-				int w = MaxIconSize;
-				if (wedge2Data.getChildren().get(i).getIcon() != 0) {
-					Drawable drawable = getResources().getDrawable(
-							wedge2Data.getChildren().get(i).getIcon());
-					h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-							MaxIconSize);
-					w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-							MaxIconSize);
-				}
+		cachedEnabled = enabled;
+		cachedWedge2Shown = Wedge2Shown;
+		renderCacheValid = true;
+	}
 
-				if (r2VariableSize < h) {
-					h = r2VariableSize;
-				}
-				if (r2VariableSize < w) {
-					w = r2VariableSize;
-				}
+	/**
+	 * Computes the area covered by the menu: both rings at their full size,
+	 * the centre circle, the header and the source dot.
+	 * @param bounds - Rect receiving the bounds.
+	 */
+	private void computeMenuBounds(Rect bounds) {
+		int radius = Math.max(Math.max(r2MaxSize, MaxSize), cRadius) + scalePX(2);
+		bounds.set(xPosition - radius, yPosition - radius, xPosition
+				+ radius, yPosition + radius);
+		if (headerString != null && HeaderBoxBounded == true) {
+			bounds.union((int) textBoxRect.left - scalePX(2),
+					(int) textBoxRect.top - scalePX(2),
+					(int) textBoxRect.right + scalePX(2),
+					(int) textBoxRect.bottom + scalePX(2));
+		}
+		if (showSource == true) {
+			int dot = cRadius / 10 + scalePX(2);
+			bounds.union(xSource - dot, ySource - dot, xSource + dot,
+					ySource + dot);
+		}
+	}
 
-				this.iconRect2[i] = new Rect((int) xCenter - w / 2,
-						(int) yCenter - h / 2, (int) xCenter + w / 2,
-						(int) yCenter + h / 2);
+	/**
+	 * Marks the whole menu area as changed.
+	 */
+	private void addDirtyMenu() {
+		computeMenuBounds(menuBounds);
+		dirtyRect.union(menuBounds);
+	}
 
-				int widthOffset = MaxSize;
-				if (widthOffset < this.textRect.width() / 2) {
-					widthOffset = this.textRect.width() / 2 + scalePX(3);
-				}
-				this.textBoxRect
-						.set((xPosition - (widthOffset)), (int) (yPosition
-								- (r2MinSize + r2VariableSize) - headerBuffer
-								- this.textRect.height() - scalePX(3)),
-								(xPosition + (widthOffset)), (yPosition
-										- (r2MinSize + r2VariableSize)
-										- headerBuffer + scalePX(3)));
-				this.headerTextBottom = yPosition
-						- (r2MinSize + r2VariableSize) - headerBuffer
-						- this.textRect.bottom;
+	/**
+	 * Marks a wedge, including its outline, as changed.
+	 * @param wedge - Wedge to redraw, can be null.
+	 */
+	private void addDirtyWedge(RadialMenuWedge wedge) {
+		if (wedge == null)
+			return;
+		RectF bounds = wedge.getBounds();
+		int pad = (int) Math.ceil(paint.getStrokeWidth()) + 1;
+		dirtyRect.union((int) Math.floor(bounds.left) - pad,
+				(int) Math.floor(bounds.top) - pad,
+				(int) Math.ceil(bounds.right) + pad,
+				(int) Math.ceil(bounds.bottom) + pad);
+	}
 
-			}
+	/**
+	 * Marks the centre circle, including its outline, as changed.
+	 */
+	private void addDirtyCenter() {
+		int radius = cRadius + (int) Math.ceil(paint.getStrokeWidth()) + 1;
+		dirtyRect.union(xPosition - radius, yPosition - radius, xPosition
+				+ radius, yPosition + radius);
+	}
 
-		} else if (animation_direction == ANIMATE_IN) {
-			if (r2MinSize < r2MaxSize - r2VariableSize - wedgeSizeChange) {
-				r2VariableSize += wedgeSizeChange;
-			} else {
-				animateOuterIn = false;
-				r2VariableSize = r2MaxSize;
-				animationComplete = true;
-			}
+	/**
+	 * Invalidates the changed area and starts collecting a new one.
+	 */
+	private void invalidateDirty() {
+		if (dirtyRect.isEmpty() == false) {
+			invalidate(dirtyRect);
+			dirtyRect.setEmpty();
+		}
+	}
 
-			// animates text size change
-			this.animateTextSize = textSize
-					- ((textSize / animateSections) * (r2VariableSize / wedgeSizeChange));
+	/**
+	 * Frees the render cache bitmap.
+	 */
+	private void releaseRenderCache() {
+		if (cacheBitmap != null) {
+			cacheBitmap.recycle();
+			cacheBitmap = null;
+		}
+		renderCacheValid = false;
+	}
 
-			for (int i = 0; i < Wedges2.length; i++) {
-				this.Wedges2[i] = new RadialMenuWedge(xPosition, yPosition,
-						r2MinSize, r2MaxSize - r2VariableSize, (i * slice2)
-								+ start_slice2, slice2);
-
-				float xCenter = (float) (Math
-						.cos(((rSlice2 * i) + (rSlice2 * 0.5)) + rStart2)
-						* (r2MaxSize - r2VariableSize + r2MinSize) / 2)
-						+ xPosition;
-				float yCenter = (float) (Math
-						.sin(((rSlice2 * i) + (rSlice2 * 0.5)) + rStart2)
-						* (r2MaxSize - r2VariableSize + r2MinSize) / 2)
-						+ yPosition;
-
-				int h = MaxIconSize;
-				int w = MaxIconSize;
-				if (wedge2Data.getChildren().get(i).getIcon() != 0) {
-					Drawable drawable = getResources().getDrawable(
-							wedge2Data.getChildren().get(i).getIcon());
-					h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-							MaxIconSize);
-					w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-							MaxIconSize);
-				}
+	/**
+	 * Draws the icon and/or the (multi line) label of a menu item inside the
+	 * given rect. The icon is moved up to make room for the label when both
+	 * are present.
+	 * @param c - Canvas to draw on.
+	 * @param rf - Icon rect of the item.
+	 * @param label - Label layout, or null if there is no label.
+	 * @param icon - Icon of the item, or null if there is no icon.
+	 * @param size - Text size.
+	 * @param labelAlpha - Alpha of the label.
+	 * @param iconAlpha - Alpha of the icon.
+	 */
+	private void drawItemContent(Canvas c, Rect rf, RadialMenuLabelLayout label,
+			Icon icon, int size, int labelAlpha, int iconAlpha) {
+		if (label != null) {
+			paint.setColor(textColor);
+			paint.setAlpha(labelAlpha);
+			paint.setStyle(Paint.Style.FILL);
+			if (icon != null) {
+				// The icon is shifted up by half of the text height
+				int offset = label.getIconOffset(size);
+				contentRect.set(rf.left, rf.top - offset, rf.right, rf.bottom
+						- offset);
+				label.draw(c, paint, rf.centerX(), contentRect.bottom, size);
+			} else {
+				label.draw(c, paint, rf.centerX(), rf.centerY()
+						- (label.getTextHeight(size) / 2), size);
+			}
+		} else {
+			contentRect.set(rf);
+		}
 
-				if (r2MaxSize - r2MinSize - r2VariableSize < h) {
-					h = r2MaxSize - r2MinSize - r2VariableSize;
-				}
-				if (r2MaxSize - r2MinSize - r2VariableSize < w) {
-					w = r2MaxSize - r2MinSize - r2VariableSize;
-				}
+		// Puts in the Icon
+		if (icon != null) {
+			Drawable drawable = icon.getDrawable();
+			drawable.setBounds(contentRect);
+			drawable.setAlpha(iconAlpha);
+			drawable.draw(c);
+		}
+	}
 
-				this.iconRect2[i] = new Rect((int) xCenter - w / 2,
-						(int) yCenter - h / 2, (int) xCenter + w / 2,
-						(int) yCenter + h / 2);
+	private int scalePX(int dp_size) {
+		int px_size = (int) (dp_size * screen_density + 0.5f);
+		return px_size;
+	}
+	
+	/**
+	 * Starts opening or closing the outer ring.
+	 * @param animation_direction - ANIMATE_OUT to open, ANIMATE_IN to close.
+	 */
+	private void startOuterRingAnimation(int animation_direction) {
+		if (animation_direction == ANIMATE_IN) {
+			cancelChildLoad();
+		}
+		animateOuterOut = (animation_direction == ANIMATE_OUT);
+		animateOuterIn = (animation_direction == ANIMATE_IN);
+		ringAnimator.start();
+		addDirtyMenu();
+	}
 
-				// computes header text box
-				int heightOffset = r2MaxSize - r2VariableSize;
-				int widthOffset = MaxSize;
-				if (MaxSize > r2MaxSize - r2VariableSize) {
-					heightOffset = MaxSize;
-				}
-				if (widthOffset < this.textRect.width() / 2) {
-					widthOffset = this.textRect.width() / 2 + scalePX(3);
-				}
-				this.textBoxRect.set((xPosition - (widthOffset)),
-						(int) (yPosition - (heightOffset) - headerBuffer
-								- this.textRect.height() - scalePX(3)),
-						(xPosition + (widthOffset)), (yPosition
-								- (heightOffset) - headerBuffer + scalePX(3)));
-				this.headerTextBottom = yPosition - (heightOffset)
-						- headerBuffer - this.textRect.bottom;
+	/**
+	 * Moves the outer ring to the current point of its animation. The outer
+	 * wedges are updated in place and the icon positions use the directions
+	 * computed in determineOuterWedges, so nothing is allocated per frame.
+	 * @param animation_direction - ANIMATE_OUT to open, ANIMATE_IN to close.
+	 */
+	private void animateOuterWedges(int animation_direction) {
+		Wedge2Shown = true;
 
-			}
+		float progress = ringAnimator.update();
+		if (animation_direction == ANIMATE_IN) {
+			progress = 1.0f - progress;
 		}
+		int ringSize = (int) ((r2MaxSize - r2MinSize) * progress);
 
-		if (animationComplete == true) {
-			r2VariableSize = 0;
+		// animates text size change
+		this.animateTextSize = (int) (textSize * progress);
+		addDirtyMenu();
+		layoutOuterRing(r2MinSize + ringSize);
+
+		if (ringAnimator.isRunning() == false) {
+			animateOuterOut = false;
+			animateOuterIn = false;
 			this.animateTextSize = textSize;
 			if (animation_direction == ANIMATE_IN) {
 				Wedge2Shown = false;
+				determineHeaderBox();
 			}
+			invalidateRenderCache();
 		}
 
-		invalidate(); // re-draws the picture
+		addDirtyMenu();
+		invalidateDirty(); // re-draws the picture
 	}
 
-	private void determineWedges() {
-
-		int entriesQty = menuEntries.size();
-		if (entriesQty > 0) {
-			wedgeQty = entriesQty;
-
-			float degSlice = 360 / wedgeQty;
-			float start_degSlice = 270 - (degSlice / 2);
-			// calculates where to put the images
-			double rSlice = (2 * Math.PI) / wedgeQty;
-			double rStart = (2 * Math.PI) * (0.75) - (rSlice / 2);
-
-			this.Wedges = new RadialMenuWedge[wedgeQty];
-			this.iconRect = new Rect[wedgeQty];
+	/**
+	 * Sizes the outer ring wedges, icon rects and header box for the given
+	 * outer radius.
+	 * @param outerSize - Outer radius of the outer ring.
+	 */
+	private void layoutOuterRing(int outerSize) {
+		int ringSize = outerSize - r2MinSize;
+		for (int i = 0; i < Wedges2.length; i++) {
+			this.Wedges2[i].setOuterSize(outerSize);
+			float xCenter = iconCos2[i] * (outerSize + r2MinSize) / 2 + xPosition;
+			float yCenter = iconSin2[i] * (outerSize + r2MinSize) / 2 + yPosition;
 
-			for (int i = 0; i < Wedges.length; i++) {
-				this.Wedges[i] = new RadialMenuWedge(xPosition, yPosition,
-						MinSize, MaxSize, (i * degSlice) + start_degSlice,
-						degSlice);
-				float xCenter = (float) (Math
-						.cos(((rSlice * i) + (rSlice * 0.5)) + rStart)
-						* (MaxSize + MinSize) / 2) + xPosition;
-				float yCenter = (float) (Math
-						.sin(((rSlice * i) + (rSlice * 0.5)) + rStart)
-						* (MaxSize + MinSize) / 2) + yPosition;
-
-				int h = MaxIconSize;
-				int w = MaxIconSize;
-				if (menuEntries.get(i).getIcon() != 0) {
-					Drawable drawable = getResources().getDrawable(
-							menuEntries.get(i).getIcon());
-					h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-							MaxIconSize);
-					w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-							MaxIconSize);
-				}
+			int h = MaxIconSize;
+			int w = MaxIconSize;
+			if (icons2[i] != null) {
+				h = icons2[i].getHeight();
+				w = icons2[i].getWidth();
+			}
+			if (ringSize < h) {
+				h = ringSize;
+			}
+			if (ringSize < w) {
+				w = ringSize;
+			}
+
+			this.iconRect2[i].set((int) xCenter - w / 2,
+					(int) yCenter - h / 2, (int) xCenter + w / 2,
+					(int) yCenter + h / 2);
+		}
+
+		// computes header text box
+		int heightOffset = outerSize;
+		int widthOffset = MaxSize;
+		if (MaxSize > outerSize) {
+			heightOffset = MaxSize;
+		}
+		if (widthOffset < this.textRect.width() / 2) {
+			widthOffset = this.textRect.width() / 2 + scalePX(3);
+		}
+		this.textBoxRect.set((xPosition - (widthOffset)),
+				(int) (yPosition - (heightOffset) - headerBuffer
+						- this.textRect.height() - scalePX(3)),
+				(xPosition + (widthOffset)), (yPosition
+						- (heightOffset) - headerBuffer + scalePX(3)));
+		this.headerTextBottom = yPosition - (heightOffset)
+				- headerBuffer - this.textRect.bottom;
+	}
+
+	private void determineWedges() {
+		long layoutStart = metrics != null ? System.nanoTime() : 0;
+		layoutGeneration++;
+		invalidateRenderCache();
+		addDirtyMenu();
+		determineVisibleEntries(visibleEntries);
+		installLayout(layoutMenu(visibleEntries, centerCircle, Wedges, labels,
+				centerLabel, paint, textBounds));
+		addDirtyMenu();
+		invalidateDirty(); // re-draws the picture
+		if (metrics != null) {
+			metrics.recordLayout(layoutStart);
+		}
+	}
+
+	/**
+	 * Builds the inner ring wedges, icon rects, labels and icons, and resolves
+	 * the centre circle label and icon. Only reads the size and position
+	 * fields, so it can also run off the UI thread as long as it is given its
+	 * own paint and does not reuse the current wedges.
+	 * @param entries - Entries of the inner ring.
+	 * @param center - Centre circle item, can be null.
+	 * @param wedges - Current wedges to update in place, null to build new ones.
+	 * @param previousLabels - Current labels, reused when they did not change.
+	 * @param previousCenter - Current centre label, can be null.
+	 * @param measurePaint - Paint used to measure the labels.
+	 * @param measureBounds - Scratch rect used to measure the labels.
+	 * @return The layout, ready to be installed.
+	 */
+	private MenuLayout layoutMenu(List<RadialMenuItem> entries,
+			RadialMenuItem center, RadialMenuWedge[] wedges,
+			RadialMenuLabelLayout[] previousLabels,
+			RadialMenuLabelLayout previousCenter, Paint measurePaint,
+			Rect measureBounds) {
+		MenuLayout layout = new MenuLayout();
+		int qty = entries.size();
+		layout.wedgeQty = qty;
+		layout.wedges = wedges != null ? resizeWedges(wedges, qty)
+				: new RadialMenuWedge[qty];
+		layout.iconRect = new Rect[qty];
+		layout.labels = new RadialMenuLabelLayout[qty];
+		layout.icons = new Icon[qty];
+
+		for (int i = 0; i < qty; i++) {
+			layout.wedges[i] = updateWedge(layout.wedges[i], xPosition, yPosition,
+					MinSize, MaxSize, RadialGeometry.wedgeStartDegrees(i, qty),
+					RadialGeometry.wedgeSweepDegrees(qty));
+			// calculates where to put the images
+			double iconAngle = RadialGeometry.wedgeCenterAngle(i, qty);
+			float xCenter = (float) (Math.cos(iconAngle)
+					* (MaxSize + MinSize) / 2) + xPosition;
+			float yCenter = (float) (Math.sin(iconAngle)
+					* (MaxSize + MinSize) / 2) + yPosition;
+
+			layout.labels[i] = layoutLabel(i < previousLabels.length ? previousLabels[i]
+					: null, entries.get(i).getLabel(), measurePaint, measureBounds);
+			layout.icons[i] = resolveIcon(entries.get(i).getIcon());
 
-				this.iconRect[i] = new Rect((int) xCenter - w / 2,
-						(int) yCenter - h / 2, (int) xCenter + w / 2,
-						(int) yCenter + h / 2);
+			int h = MaxIconSize;
+			int w = MaxIconSize;
+			if (layout.icons[i] != null) {
+				h = layout.icons[i].getHeight();
+				w = layout.icons[i].getWidth();
 			}
 
-			invalidate(); // re-draws the picture
+			layout.iconRect[i] = new Rect((int) xCenter - w / 2,
+					(int) yCenter - h / 2, (int) xCenter + w / 2,
+					(int) yCenter + h / 2);
+		}
+
+		if (center != null) {
+			layout.centerLabel = layoutLabel(previousCenter, center.getLabel(),
+					measurePaint, measureBounds);
+			layout.centerIcon = resolveIcon(center.getIcon());
 		}
+		return layout;
 	}
 
-	private void determineOuterWedges(RadialMenuItem entry) {
+	/**
+	 * Makes a layout built by layoutMenu the current one. Called on the UI
+	 * thread.
+	 * @param layout - Layout to install.
+	 */
+	private void installLayout(MenuLayout layout) {
+		if (layout.wedgeQty > 0) {
+			wedgeQty = layout.wedgeQty;
+		}
+		this.Wedges = layout.wedges;
+		this.iconRect = layout.iconRect;
+		this.labels = layout.labels;
+		this.icons = layout.icons;
+		this.centerLabel = layout.centerLabel;
+		this.centerIcon = layout.centerIcon;
+		determineCenterIconRect();
+		determineHitTester();
+	}
 
-		int entriesQty = entry.getChildren().size();
+	/**
+	 * Swaps a layout built by prepare in for the current one, unless the menu
+	 * changed in the meantime. Also bounds the header box, so the next frame
+	 * has nothing left to lay out. Called on the UI thread.
+	 * @param task - Task that built the layout.
+	 * @param layout - The built layout.
+	 */
+	private void onMenuPrepared(PrepareTask task, MenuLayout layout) {
+		if (task != prepareTask) {
+			recycleWedges(layout.wedges); // replaced by a later prepare
+			return;
+		}
+		prepareTask = null;
+		if (task.generation != layoutGeneration) {
+			recycleWedges(layout.wedges); // the menu changed meanwhile
+			// Changes such as the text size do not rebuild the ring themselves,
+			// so it is rebuilt here for the entries the dropped layout was for
+			if (updateDepth > 0) {
+				updatePending = true;
+			} else {
+				determineWedges();
+			}
+			return;
+		}
+		invalidateRenderCache();
+		addDirtyMenu();
+		// Keeps the selection on the wedges at the same positions
+		selected = remapWedge(selected, Wedges, layout.wedges);
+		enabled = remapWedge(enabled, Wedges, layout.wedges);
+		recycleWedges(Wedges);
+		visibleEntries.clear();
+		visibleEntries.addAll(task.entries);
+		installLayout(layout);
+		if (Wedge2Shown == false && headerString != null) {
+			determineHeaderBox();
+			HeaderBoxBounded = true;
+		}
+		addDirtyMenu();
+		invalidateDirty(); // re-draws the picture
+	}
+
+	/**
+	 * @param wedge - Wedge to look up, can be null.
+	 * @param from - Wedges the wedge belongs to.
+	 * @param to - Wedges replacing them.
+	 * @return The wedge at the same position in the new wedges, or null.
+	 */
+	private RadialMenuWedge remapWedge(RadialMenuWedge wedge,
+			RadialMenuWedge[] from, RadialMenuWedge[] to) {
+		if (wedge == null)
+			return null;
+		for (int i = 0; i < from.length && i < to.length; i++) {
+			if (from[i] == wedge)
+				return to[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the wedges of a dropped layout to the pool.
+	 * @param wedges - Wedges to recycle.
+	 */
+	private void recycleWedges(RadialMenuWedge[] wedges) {
+		for (int i = 0; i < wedges.length; i++) {
+			if (wedges[i] != null)
+				wedges[i].recycle();
+		}
+	}
+
+	private void determineOuterWedges(RadialMenuItem entry,
+			List<RadialMenuItem> children) {
+		long layoutStart = metrics != null ? System.nanoTime() : 0;
+
+		int entriesQty = children.size();
 		wedgeQty2 = entriesQty;
 
 		// Wedge 2
-		float degSlice2 = 360 / wedgeQty2;
-		float start_degSlice2 = 270 - (degSlice2 / 2);
-		// calculates where to put the images
-		double rSlice2 = (2 * Math.PI) / wedgeQty2;
-		double rStart2 = (2 * Math.PI) * (0.75) - (rSlice2 / 2);
+		float degSlice2 = RadialGeometry.wedgeSweepDegrees(wedgeQty2);
 
-		this.Wedges2 = new RadialMenuWedge[wedgeQty2];
+		this.Wedges2 = resizeWedges(this.Wedges2, wedgeQty2);
 		this.iconRect2 = new Rect[wedgeQty2];
+		this.labels2 = new RadialMenuLabelLayout[wedgeQty2];
+		this.icons2 = new Icon[wedgeQty2];
+		this.iconCos2 = new float[wedgeQty2];
+		this.iconSin2 = new float[wedgeQty2];
 
 		for (int i = 0; i < Wedges2.length; i++) {
-			this.Wedges2[i] = new RadialMenuWedge(xPosition, yPosition,
-					r2MinSize, r2MaxSize, (i * degSlice2) + start_degSlice2,
+			this.Wedges2[i] = updateWedge(Wedges2[i], xPosition, yPosition,
+					r2MinSize, r2MaxSize, RadialGeometry.wedgeStartDegrees(i, wedgeQty2),
 					degSlice2);
-			float xCenter = (float) (Math.cos(((rSlice2 * i) + (rSlice2 * 0.5))
-					+ rStart2)
-					* (r2MaxSize + r2MinSize) / 2)
-					+ xPosition;
-			float yCenter = (float) (Math.sin(((rSlice2 * i) + (rSlice2 * 0.5))
-					+ rStart2)
-					* (r2MaxSize + r2MinSize) / 2)
-					+ yPosition;
+			// calculates where to put the images
+			double iconAngle = RadialGeometry.wedgeCenterAngle(i, wedgeQty2);
+			this.iconCos2[i] = (float) Math.cos(iconAngle);
+			this.iconSin2[i] = (float) Math.sin(iconAngle);
+			float xCenter = iconCos2[i] * (r2MaxSize + r2MinSize) / 2 + xPosition;
+			float yCenter = iconSin2[i] * (r2MaxSize + r2MinSize) / 2 + yPosition;
+
+			this.labels2[i] = layoutLabel(null, children.get(i).getLabel(),
+					paint, textBounds);
+			this.icons2[i] = resolveIcon(children.get(i).getIcon());
 
 			int h = MaxIconSize;
 			int w = MaxIconSize;
-			if (entry.getChildren().get(i).getIcon() != 0) {
-				Drawable drawable = getResources().getDrawable(
-						entry.getChildren().get(i).getIcon());
-				h = getIconSize(drawable.getIntrinsicHeight(), MinIconSize,
-						MaxIconSize);
-				w = getIconSize(drawable.getIntrinsicWidth(), MinIconSize,
-						MaxIconSize);
+			if (icons2[i] != null) {
+				h = icons2[i].getHeight();
+				w = icons2[i].getWidth();
 			}
 			this.iconRect2[i] = new Rect((int) xCenter - w / 2, (int) yCenter
 					- h / 2, (int) xCenter + w / 2, (int) yCenter + h / 2);
 		}
 		this.wedge2Data = entry;
-		invalidate(); // re-draws the picture
+		this.wedge2Children = children;
+		determineHitTester();
+		invalidateRenderCache();
+		addDirtyMenu();
+		invalidateDirty(); // re-draws the picture
+		if (metrics != null) {
+			metrics.recordLayout(layoutStart);
+		}
+	}
+
+	/**
+	 * Activates an inner ring entry: switches the page for the page wedges,
+	 * otherwise runs the entry and opens its submenu if it has children.
+	 * @param i - Inner wedge index.
+	 */
+	private void activateEntry(int i) {
+		RadialMenuItem entry = visibleEntries.get(i);
+		if (entry == pagePrevious) {
+			setPage(page - 1);
+		} else if (entry == pageNext) {
+			setPage(page + 1);
+		} else {
+			entry.menuActiviated();
+			if (openSubmenu(i) == false) {
+				Wedge2Shown = false;
+			}
+		}
+	}
+
+	/**
+	 * Opens the outer ring with the children of an inner ring entry. The
+	 * children of lazy items are only created at this point.
+	 * @param i - Inner wedge index.
+	 * @return false if the entry has no children.
+	 */
+	private boolean openSubmenu(int i) {
+		RadialMenuItem entry = visibleEntries.get(i);
+		if (childLoadExecutor != null && entry.isChildrenLoaded() == false) {
+			// Opens the ring with placeholders right away
+			determineOuterWedges(entry, placeholderChildren);
+			startChildLoad(entry);
+		} else {
+			List<RadialMenuItem> children = entry.getChildren();
+			if (children == null || children.isEmpty() == true)
+				return false;
+			cancelChildLoad();
+			determineOuterWedges(entry, children);
+		}
+		enabled = Wedges[i];
+		startOuterRingAnimation(ANIMATE_OUT); // sets Wedge2Shown = true;
+		return true;
+	}
+
+	/**
+	 * Moves the drag selection to a touch sample. The highlight only changes
+	 * when the sample is over another wedge.
+	 * @param x - Sample X location.
+	 * @param y - Sample Y location.
+	 */
+	private void dragTo(float x, float y) {
+		hitTester.locate(x, y);
+
+		int wedge = hitTester.getInnerWedge();
+		if (wedge >= Wedges.length) {
+			wedge = RadialMenuHitTester.NO_WEDGE;
+		}
+		if (wedge == RadialMenuHitTester.NO_WEDGE
+				&& dragWedge != RadialMenuHitTester.NO_WEDGE
+				&& Wedges[dragWedge] != enabled) {
+			// Crossing from an inner wedge into the outer ring opens its submenu
+			float diffX = x - xPosition;
+			float diffY = y - yPosition;
+			if (diffX * diffX + diffY * diffY >= (float) MaxSize * MaxSize) {
+				openDraggedSubmenu(false);
+				hitTester.locate(x, y);
+			}
+		}
+		setDragWedge(wedge);
+		inWedge = (wedge != RadialMenuHitTester.NO_WEDGE);
+		selected = inWedge ? Wedges[wedge] : null;
+
+		selected2 = null;
+		inWedge2 = false;
+		if (Wedge2Shown == true) {
+			int wedge2 = hitTester.getOuterWedge();
+			if (wedge2 != RadialMenuHitTester.NO_WEDGE && wedge2 < Wedges2.length) {
+				inWedge2 = true;
+				selected2 = Wedges2[wedge2];
+			}
+		}
+
+		inCircle = centerCircle != null && hitTester.isInCenter();
+	}
+
+	/**
+	 * Sets the inner wedge under the dragging finger and restarts the dwell
+	 * timer when it changes.
+	 * @param wedge - Inner wedge index or RadialMenuHitTester.NO_WEDGE.
+	 */
+	private void setDragWedge(int wedge) {
+		if (wedge == dragWedge)
+			return;
+		dragWedge = wedge;
+		mainHandler.removeCallbacks(dwellRunnable);
+		if (wedge != RadialMenuHitTester.NO_WEDGE) {
+			mainHandler.postDelayed(dwellRunnable, submenuDwellTime);
+		}
+	}
+
+	/**
+	 * Opens the submenu of the inner wedge under the dragging finger.
+	 * @param flipPages - true to switch the page if it is a page wedge.
+	 */
+	private void openDraggedSubmenu(boolean flipPages) {
+		if (dragWedge == RadialMenuHitTester.NO_WEDGE
+				|| dragWedge >= Wedges.length || Wedges[dragWedge] == enabled)
+			return;
+		RadialMenuItem entry = visibleEntries.get(dragWedge);
+		if (entry == pagePrevious || entry == pageNext) {
+			if (flipPages == true) {
+				activateEntry(dragWedge);
+				dragWedge = RadialMenuHitTester.NO_WEDGE;
+			}
+		} else if (openSubmenu(dragWedge) == true) {
+			entry.menuActiviated();
+			dragOpened = true;
+		}
+	}
+
+	/**
+	 * Opens the submenu of the highlighted wedge once the finger rested on it
+	 * for the dwell time.
+	 */
+	private final Runnable dwellRunnable = new Runnable() {
+		@Override
+		public void run() {
+			RadialMenuWedge lastEnabled = enabled;
+			openDraggedSubmenu(true);
+			if (enabled != lastEnabled) {
+				addDirtyMenu();
+			}
+			invalidateDirty();
+		}
+	};
+
+	/**
+	 * Loads the children of a menu item on the child load executor. They
+	 * replace the placeholder wedges once loaded, unless the load was
+	 * cancelled in the meantime.
+	 * @param entry - Menu item to load the children of.
+	 */
+	private void startChildLoad(RadialMenuItem entry) {
+		cancelChildLoad();
+		childLoad = new ChildLoadTask(entry);
+		childLoadExecutor.execute(childLoad);
+	}
+
+	/**
+	 * Cancels the pending child load, if any.
+	 */
+	private void cancelChildLoad() {
+		if (childLoad != null) {
+			childLoad.cancelled = true;
+			childLoad = null;
+		}
+	}
+
+	/**
+	 * Swaps the loaded children in for the placeholder wedges. Called on the
+	 * UI thread.
+	 * @param task - Task that loaded the children.
+	 * @param children - Loaded children.
+	 */
+	private void onChildrenLoaded(ChildLoadTask task, List<RadialMenuItem> children) {
+		if (task != childLoad)
+			return; // cancelled
+		childLoad = null;
+		selected2 = null;
+		if (children != null && children.isEmpty() == false) {
+			// A running open animation resizes the new wedges on its next frame
+			determineOuterWedges(task.entry, children);
+		} else {
+			// The item has no children after all
+			enabled = null;
+			startOuterRingAnimation(ANIMATE_IN);
+			invalidateDirty();
+		}
+	}
+
+	/**
+	 * Loads the children of a menu item in the background.
+	 */
+	private class ChildLoadTask implements Runnable {
+		private final RadialMenuItem entry;
+		private volatile boolean cancelled = false;
+
+		private ChildLoadTask(RadialMenuItem entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public void run() {
+			if (cancelled)
+				return;
+			final List<RadialMenuItem> children = entry.getChildren();
+			if (cancelled)
+				return;
+			mainHandler.post(new Runnable() {
+				@Override
+				public void run() {
+					onChildrenLoaded(ChildLoadTask.this, children);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Builds the menu layout in the background, see prepare.
+	 */
+	private class PrepareTask implements Runnable {
+		private final int generation;
+		private final List<RadialMenuItem> entries;
+		private final RadialMenuItem center;
+		private final RadialMenuLabelLayout[] previousLabels;
+		private final RadialMenuLabelLayout previousCenter;
+		private final Paint measurePaint;
+		private final Rect measureBounds = new Rect();
+
+		private PrepareTask(int generation, List<RadialMenuItem> entries) {
+			this.generation = generation;
+			this.entries = entries;
+			this.center = centerCircle;
+			this.previousLabels = labels;
+			this.previousCenter = centerLabel;
+			this.measurePaint = new Paint(paint);
+		}
+
+		@Override
+		public void run() {
+			final MenuLayout layout = layoutMenu(entries, center, null,
+					previousLabels, previousCenter, measurePaint, measureBounds);
+			mainHandler.post(new Runnable() {
+				@Override
+				public void run() {
+					onMenuPrepared(PrepareTask.this, layout);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Inner ring and centre circle layout built by layoutMenu.
+	 */
+	private static class MenuLayout {
+		private int wedgeQty;
+		private RadialMenuWedge[] wedges;
+		private Rect[] iconRect;
+		private RadialMenuLabelLayout[] labels;
+		private Icon[] icons;
+		private RadialMenuLabelLayout centerLabel;
+		private Icon centerIcon;
+	}
+
+	/**
+	 * Resizes a wedge array, keeping the existing wedges so they can be
+	 * updated in place. Wedges that no longer fit are returned to the pool.
+	 * @param wedges - Current wedges.
+	 * @param qty - Number of wedges needed.
+	 * @return The same array if the size did not change, otherwise a new
+	 * array holding the reused wedges.
+	 */
+	private RadialMenuWedge[] resizeWedges(RadialMenuWedge[] wedges, int qty) {
+		if (wedges.length == qty)
+			return wedges;
+		RadialMenuWedge[] resized = new RadialMenuWedge[qty];
+		for (int i = 0; i < wedges.length; i++) {
+			if (i < qty) {
+				resized[i] = wedges[i];
+			} else if (wedges[i] != null) {
+				wedges[i].recycle();
+			}
+		}
+		return resized;
+	}
+
+	/**
+	 * Updates a wedge in place, or takes one from the pool if there is none.
+	 * @return The updated wedge.
+	 */
+	private RadialMenuWedge updateWedge(RadialMenuWedge wedge, int x, int y,
+			int innerSize, int outerSize, float startArc, float arcWidth) {
+		if (wedge == null)
+			return RadialMenuWedge.obtain(x, y, innerSize, outerSize,
+					startArc, arcWidth);
+		wedge.set(x, y, innerSize, outerSize, startArc, arcWidth);
+		return wedge;
+	}
+
+	/**
+	 * Picks the entries shown in the inner ring. Without paging these are all
+	 * the menu entries, otherwise the entries of the current page followed by
+	 * the previous and next page wedges.
+	 * @param visible - List receiving the entries.
+	 */
+	private void determineVisibleEntries(List<RadialMenuItem> visible) {
+		visible.clear();
+		int pageQty = getPageCount();
+		if (pageQty <= 1) {
+			page = 0;
+			visible.addAll(menuEntries);
+			return;
+		}
+		int perPage = maxVisibleWedges - 2;
+		if (page >= pageQty) {
+			page = pageQty - 1;
+		}
+		int start = page * perPage;
+		visible.addAll(menuEntries.subList(start,
+				Math.min(start + perPage, menuEntries.size())));
+		visible.add(pagePrevious);
+		visible.add(pageNext);
+	}
+
+	/**
+	 * Updates the hit tester with the current centre, radii and wedge counts.
+	 */
+	private void determineHitTester() {
+		hitTester.setCenter(xPosition, yPosition);
+		hitTester.setCenterRadius(cRadius);
+		hitTester.setInnerRing(MinSize, MaxSize, visibleEntries.size());
+		hitTester.setOuterRing(r2MinSize, r2MaxSize, wedgeQty2);
+	}
+
+	/**
+	 * Resolves the label lines, icon and icon rect of the centre circle.
+	 */
+	private void determineCenterCircle() {
+		if (centerCircle == null) {
+			centerLabel = null;
+			centerIcon = null;
+			return;
+		}
+		centerLabel = layoutLabel(centerLabel, centerCircle.getLabel(), paint,
+				textBounds);
+		centerIcon = resolveIcon(centerCircle.getIcon());
+		determineCenterIconRect();
+	}
+
+	/**
+	 * Places the centre circle icon rect around the resolved centre icon.
+	 */
+	private void determineCenterIconRect() {
+		int h = MaxIconSize;
+		int w = MaxIconSize;
+		if (centerIcon != null) {
+			h = centerIcon.getHeight();
+			w = centerIcon.getWidth();
+		}
+		centerIconRect.set(xPosition - w / 2, yPosition - h / 2, xPosition + w
+				/ 2, yPosition + h / 2);
+	}
+
+	/**
+	 * Lays out a menu item label. The previous layout is reused when the label
+	 * and text size did not change.
+	 * @param previous - Previous layout of the item, can be null.
+	 * @param label - Menu item label, can be null.
+	 * @param measurePaint - Paint used to measure the label.
+	 * @param measureBounds - Scratch rect used to measure the label.
+	 * @return The label layout or null if there is no label.
+	 */
+	private RadialMenuLabelLayout layoutLabel(RadialMenuLabelLayout previous,
+			String label, Paint measurePaint, Rect measureBounds) {
+		if (label == null)
+			return null;
+		if (previous != null && label.equals(previous.getLabel())
+				&& previous.getTextSize() == textSize)
+			return previous;
+		RadialMenuLabelLayout layout = new RadialMenuLabelLayout(label);
+		layout.measure(measurePaint, textSize, measureBounds);
+		return layout;
+	}
+
+	/**
+	 * Measures the existing label layouts again after a text size change.
+	 */
+	private void measureLabels() {
+		for (int i = 0; i < labels.length; i++) {
+			if (labels[i] != null)
+				labels[i].measure(paint, textSize, textBounds);
+		}
+		for (int i = 0; i < labels2.length; i++) {
+			if (labels2[i] != null)
+				labels2[i].measure(paint, textSize, textBounds);
+		}
+		if (centerLabel != null)
+			centerLabel.measure(paint, textSize, textBounds);
+	}
+
+	/**
+	 * Gets the icon from the shared icon cache.
+	 * @param iconId - Icon resource ID, 0 if there is no icon.
+	 * @return The icon or null if there is no icon.
+	 */
+	private Icon resolveIcon(int iconId) {
+		return RadialMenuIconCache.getInstance().get(getResources(), iconId,
+				MinIconSize, MaxIconSize);
 	}
 
 	private void determineHeaderBox() {
@@ -1028,7 +1589,7 @@ public class RadialMenuWidget extends View {
 	 */
 	public void addMenuEntry(List<RadialMenuItem> menuItems) {
 		menuEntries.addAll(menuItems);
-		determineWedges();
+		updateWedges();
 	}
 	
 	/**
@@ -1038,7 +1599,112 @@ public class RadialMenuWidget extends View {
 	 */
 	public void addMenuEntry(RadialMenuItem menuItem) {
 		menuEntries.add(menuItem);
-		determineWedges();
+		updateWedges();
+	}
+
+	/**
+	 * This method allows the user to remove a menu item.
+	 * @param menuItem - Object of RadialMenuItem.
+	 */
+	public void removeMenuEntry(RadialMenuItem menuItem) {
+		if (menuEntries.remove(menuItem)) {
+			closeOuterRing();
+			updateWedges();
+		}
+	}
+
+	/**
+	 * This method allows the user to replace a menu item.
+	 * @param index - Position of the menu item to replace.
+	 * @param menuItem - Object of RadialMenuItem.
+	 */
+	public void replaceMenuEntry(int index, RadialMenuItem menuItem) {
+		menuEntries.set(index, menuItem);
+		closeOuterRing();
+		updateWedges();
+	}
+
+	/**
+	 * This method allows the user to move a menu item to another position.
+	 * @param fromIndex - Current position of the menu item.
+	 * @param toIndex - New position of the menu item.
+	 */
+	public void moveMenuEntry(int fromIndex, int toIndex) {
+		menuEntries.add(toIndex, menuEntries.remove(fromIndex));
+		closeOuterRing();
+		updateWedges();
+	}
+
+	/**
+	 * This method allows the user to remove all the menu items.
+	 */
+	public void clearMenuEntries() {
+		menuEntries.clear();
+		closeOuterRing();
+		updateWedges();
+	}
+
+	/**
+	 * Starts a batch of menu changes. The wedges are only rebuilt once the
+	 * matching {@link #commitUpdate()} is called, instead of after every
+	 * change. Calls can be nested.
+	 * <strong> Usage </strong>
+	 * 
+	 * pieMenu.beginUpdate();
+	 * pieMenu.addMenuEntry(firstItem);
+	 * pieMenu.addMenuEntry(secondItem);
+	 * pieMenu.commitUpdate();
+	 */
+	public void beginUpdate() {
+		updateDepth++;
+	}
+
+	/**
+	 * Ends a batch of menu changes started with {@link #beginUpdate()} and
+	 * rebuilds the wedges if anything changed.
+	 */
+	public void commitUpdate() {
+		if (updateDepth == 0)
+			return;
+		updateDepth--;
+		if (updateDepth == 0 && updatePending == true) {
+			updatePending = false;
+			determineWedges();
+		}
+	}
+
+	/**
+	 * Rebuilds the wedges, or defers it to commitUpdate() while a batch of
+	 * changes is in progress.
+	 */
+	private void updateWedges() {
+		if (updateDepth > 0) {
+			layoutGeneration++;
+			updatePending = true;
+		} else {
+			determineWedges();
+		}
+	}
+
+	/**
+	 * Closes the outer ring right away, as the entry it belongs to may have
+	 * been moved or removed.
+	 */
+	private void closeOuterRing() {
+		if (enabled == null && Wedge2Shown == false)
+			return;
+		addDirtyMenu();
+		cancelChildLoad();
+		ringAnimator.cancel();
+		animateOuterIn = false;
+		animateOuterOut = false;
+		animateTextSize = textSize;
+		enabled = null;
+		selected = null;
+		selected2 = null;
+		Wedge2Shown = false;
+		HeaderBoxBounded = false;
+		invalidateRenderCache();
 	}
 	
 	/******************************************************************************************************************************
@@ -1053,6 +1719,9 @@ public class RadialMenuWidget extends View {
 	 */
 	public void setCenterCircle(RadialMenuItem menuItem) {
 		centerCircle = menuItem;
+		layoutGeneration++;
+		determineCenterCircle();
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1064,7 +1733,7 @@ public class RadialMenuWidget extends View {
 	public void setInnerRingRadius(int InnerRadius, int OuterRadius) {
 		this.MinSize = scalePX(InnerRadius);
 		this.MaxSize = scalePX(OuterRadius);
-		determineWedges();
+		updateWedges();
 	}
 
 	/**
@@ -1076,7 +1745,7 @@ public class RadialMenuWidget extends View {
 	public void setOuterRingRadius(int InnerRadius, int OuterRadius) {
 		this.r2MinSize = scalePX(InnerRadius);
 		this.r2MaxSize = scalePX(OuterRadius);
-		determineWedges();
+		updateWedges();
 	}
 
 	/**
@@ -1086,7 +1755,7 @@ public class RadialMenuWidget extends View {
 	 */
 	public void setCenterCircleRadius(int centerRadius) {
 		this.cRadius = scalePX(centerRadius);
-		determineWedges();
+		updateWedges();
 	}
 
 	/**
@@ -1096,6 +1765,10 @@ public class RadialMenuWidget extends View {
 	public void setTextSize(int TextSize) {
 		this.textSize = scalePX(TextSize);
 		this.animateTextSize = this.textSize;
+		layoutGeneration++;
+		measureLabels();
+		invalidateRenderCache();
+		invalidate();
 	}
 
 	/**
@@ -1106,7 +1779,7 @@ public class RadialMenuWidget extends View {
 	public void setIconSize(int minIconSize, int maxIconSize) {
 		this.MinIconSize = scalePX(minIconSize);
 		this.MaxIconSize = scalePX(maxIconSize);
-		determineWedges();
+		updateWedges();
 	}
 
 	/**
@@ -1115,9 +1788,10 @@ public class RadialMenuWidget extends View {
 	 * @param y
 	 */
 	public void setCenterLocation(int x, int y) {
+		addDirtyMenu(); // the menu is redrawn at its old location too
 		this.xPosition = x;
 		this.yPosition = y;
-		determineWedges();
+		updateWedges();
 		helper.onOpenAnimation(this, xPosition, yPosition, xSource, ySource);
 	}
 
@@ -1129,6 +1803,7 @@ public class RadialMenuWidget extends View {
 	public void setSourceLocation(int x, int y) {
 		this.xSource = x;
 		this.ySource = y;
+		invalidateRenderCache();
 		helper.onOpenAnimation(this, xPosition, yPosition, xSource, ySource);
 	}
 	
@@ -1138,6 +1813,7 @@ public class RadialMenuWidget extends View {
 	 */
 	public void setShowSourceLocation(boolean showSourceLocation) {
 		this.showSource = showSourceLocation;
+		invalidateRenderCache();
 		helper.onOpenAnimation(this, xPosition, yPosition, xSource, ySource);
 	}
 
@@ -1150,6 +1826,33 @@ public class RadialMenuWidget extends View {
 				millis);
 	}
 
+	/**
+	 * Set the time it takes to open or close the outer ring.
+	 * @param millis - Time in milliseconds.
+	 */
+	public void setOuterRingAnimationDuration(long millis) {
+		ringAnimator.setDuration(millis);
+	}
+
+	/**
+	 * Set the interpolator used while opening or closing the outer ring.
+	 * @param interpolator - Interpolator object, linear by default.
+	 */
+	public void setOuterRingAnimationInterpolator(Interpolator interpolator) {
+		ringAnimator.setInterpolator(interpolator);
+	}
+
+	/**
+	 * Cancels a running outer ring animation. The ring is left fully open or
+	 * fully closed, depending on the direction it was animating to.
+	 */
+	public void cancelOuterRingAnimation() {
+		if (animateOuterOut == false && animateOuterIn == false)
+			return;
+		ringAnimator.cancel();
+		animateOuterWedges(animateOuterIn ? ANIMATE_IN : ANIMATE_OUT);
+	}
+
 	/**
 	 * Set the radial menu inner ring color.
 	 * @param color - Color value .
@@ -1158,6 +1861,7 @@ public class RadialMenuWidget extends View {
 	public void setInnerRingColor(int color, int alpha) {
 		this.defaultColor = color;
 		this.defaultAlpha = alpha;
+		invalidateRenderCache();
 	}
 	
 	/**
@@ -1168,6 +1872,7 @@ public class RadialMenuWidget extends View {
 	public void setOuterRingColor(int color, int alpha) {
 		this.wedge2Color = color;
 		this.wedge2Alpha = alpha;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1178,6 +1883,7 @@ public class RadialMenuWidget extends View {
 	public void setOutlineColor(int color, int alpha) {
 		this.outlineColor = color;
 		this.outlineAlpha = alpha;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1188,6 +1894,7 @@ public class RadialMenuWidget extends View {
 	public void setSelectedColor(int color, int alpha) {
 		this.selectedColor = color;
 		this.selectedAlpha = alpha;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1198,6 +1905,7 @@ public class RadialMenuWidget extends View {
 	public void setDisabledColor(int color, int alpha) {
 		this.disabledColor = color;
 		this.disabledAlpha = alpha;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1208,6 +1916,7 @@ public class RadialMenuWidget extends View {
 	public void setTextColor(int color, int alpha) {
 		this.textColor = color;
 		this.textAlpha = alpha;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1219,7 +1928,12 @@ public class RadialMenuWidget extends View {
 	public void setHeader(String header, int TextSize) {
 		this.headerString = header;
 		this.headerTextSize = scalePX(TextSize);
+		if (header != null) {
+			paint.setTextSize(headerTextSize);
+			paint.getTextBounds(header, 0, header.length(), this.textRect);
+		}
 		HeaderBoxBounded = false;
+		invalidateRenderCache();
 	}
 
 	/**
@@ -1236,6 +1950,7 @@ public class RadialMenuWidget extends View {
 		this.headerTextAlpha = TextAlpha;
 		this.headerBackgroundColor = BgColor;
 		this.headerBackgroundAlpha = BgAlpha;
+		invalidateRenderCache();
 	}
 	
 	/**
@@ -1245,6 +1960,20 @@ public class RadialMenuWidget extends View {
 	 * @param posY - Position Y. Pass 0 if not needed.
 	 */
 	public void show(View anchor, int posX, int posY) {
+		if (metrics != null) {
+			metrics.markShow();
+		}
+		if (overlayHost == true) {
+			overlay = RadialMenuOverlay.obtain(anchor);
+			if (overlay != null) {
+				if (mWindow.isShowing())
+					mWindow.dismiss();
+				overlay.showMenu(this, posX, posY);
+				return;
+			}
+		}
+		// Falls back to a popup window when the anchor window can not host
+		// the menu
 		mWindow.setContentView(this);
 		mWindow.showAtLocation(anchor, Gravity.NO_GRAVITY, posX, posY);
 	}
@@ -1254,15 +1983,238 @@ public class RadialMenuWidget extends View {
 	 * @param anchor - View to be anchored to.
 	 */
 	public void show(View anchor) {
-		mWindow.setContentView(this);
-		mWindow.showAtLocation(anchor, Gravity.NO_GRAVITY, this.xSource, this.ySource);
+		show(anchor, this.xSource, this.ySource);
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Shows the menu in a layer on top of the anchor's window instead of a
+	 * popup window of its own. The layer and the menu are reused across opens,
+	 * which makes showing and dismissing the menu much cheaper. The popup
+	 * window is still used if the anchor's window can not host the layer.
+	 * Takes effect the next time the menu is shown.
+	 * @param overlayHost - true to show the menu in the anchor's window.
+	 */
+	public void setOverlayHost(boolean overlayHost) {
+		this.overlayHost = overlayHost;
+	}
+
+	/**
+	 * @return the overlayHost
+	 */
+	public boolean isOverlayHost() {
+		return overlayHost;
 	}
 	
+	/**
+	 * Draws the menu from an offscreen bitmap, with only the selected item
+	 * drawn in place of its cached copy per frame. The bitmap is redrawn after
+	 * the menu items, geometry or colors change, and is not used while the
+	 * outer ring animates. On API 11 to 17 it is also not used while an item
+	 * is selected, as hardware accelerated canvases can not clip the item out
+	 * of it there. This trades the bitmap memory for cheaper frames while the
+	 * user moves across the menu, so it is off by default.
+	 * @param cached - true to enable cached rendering.
+	 */
+	public void setCachedRendering(boolean cached) {
+		this.cachedRendering = cached;
+		if (cached == false) {
+			releaseRenderCache();
+		}
+		invalidate();
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Limits the number of wedges in the inner ring. When there are more menu
+	 * entries, they are split into pages and the last two wedges of the ring
+	 * move to the previous and next page. Only the wedges of the shown page
+	 * are built and drawn.
+	 * @param maxWedges - Maximum number of inner wedges, at least 3. Pass 0 to
+	 * show all the entries.
+	 */
+	public void setMaxVisibleWedges(int maxWedges) {
+		if (maxWedges > 0 && maxWedges < 3) {
+			maxWedges = 3;
+		}
+		this.maxVisibleWedges = maxWedges;
+		closeOuterRing();
+		updateWedges();
+	}
+
+	/**
+	 * Shows a page of menu entries. The pages wrap around at both ends.
+	 * @param page - Page index.
+	 */
+	public void setPage(int page) {
+		int pageQty = getPageCount();
+		this.page = ((page % pageQty) + pageQty) % pageQty;
+		// The entries move to other wedges, so an open submenu is closed
+		closeOuterRing();
+		selected = null;
+		updateWedges();
+	}
+
+	/**
+	 * @return the current page index
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * @return Number of pages the menu entries are split into.
+	 */
+	public int getPageCount() {
+		if (maxVisibleWedges <= 0 || menuEntries.size() <= maxVisibleWedges)
+			return 1;
+		int perPage = maxVisibleWedges - 2;
+		return (menuEntries.size() + perPage - 1) / perPage;
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Lets the user sweep across the wedges with the finger down. The wedge
+	 * under the finger is highlighted and is activated when the finger is
+	 * lifted. A submenu opens when the finger rests on its wedge for the
+	 * dwell time, or when it is dragged from the wedge towards the outer ring.
+	 * @param dragSelection - true to enable drag selection.
+	 */
+	public void setDragSelection(boolean dragSelection) {
+		this.dragSelection = dragSelection;
+		if (dragSelection == false) {
+			setDragWedge(RadialMenuHitTester.NO_WEDGE);
+		}
+	}
+
+	/**
+	 * Set the time the finger rests on a wedge before its submenu opens while
+	 * drag selection is enabled.
+	 * @param millis - Time in milliseconds.
+	 */
+	public void setSubmenuDwellTime(long millis) {
+		this.submenuDwellTime = millis;
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Loads the children of menu items that use a child provider on the given
+	 * executor instead of the UI thread. The outer ring opens right away with
+	 * placeholder wedges, which are replaced once the children are loaded. A
+	 * pending load is dropped when the outer ring is closed.
+	 * @param executor - Executor to load on, null to load on the UI thread.
+	 * @param placeholderQty - Number of placeholder wedges shown while loading.
+	 */
+	public void setAsyncChildLoading(Executor executor, int placeholderQty) {
+		this.childLoadExecutor = executor;
+		this.placeholderChildren = new ArrayList<RadialMenuItem>(placeholderQty);
+		for (int i = 0; i < Math.max(1, placeholderQty); i++) {
+			placeholderChildren.add(new RadialMenuItem(null, PLACEHOLDER_LABEL));
+		}
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Builds the menu on the given executor instead of the UI thread: the
+	 * wedge paths, label measurements and icon decodes. The result is handed
+	 * to the menu on the UI thread, together with the header box, so the first
+	 * frame after show() has no layout work left. If the menu items or
+	 * geometry change before it is ready, the result is dropped and the menu
+	 * is built on the UI thread instead. Called inside a batch of changes, it
+	 * ends the batch in place of commitUpdate().
+	 * <strong> Usage </strong>
+	 * 
+	 * pieMenu.beginUpdate();
+	 * pieMenu.addMenuEntry(menuItems);
+	 * pieMenu.prepare(executor);
+	 * @param executor - Executor to build the menu on.
+	 */
+	public void prepare(Executor executor) {
+		if (updateDepth > 0) {
+			updateDepth--;
+			if (updateDepth > 0) {
+				updatePending = true;
+				return; // the outer batch builds the menu
+			}
+		}
+		updatePending = false;
+		layoutGeneration++;
+		List<RadialMenuItem> entries = new ArrayList<RadialMenuItem>();
+		determineVisibleEntries(entries);
+		prepareTask = new PrepareTask(layoutGeneration, entries);
+		executor.execute(prepareTask);
+	}
+
+	/**
+	 * @return true while a layout built by prepare() is not installed yet.
+	 */
+	public boolean isPreparing() {
+		return prepareTask != null;
+	}
+
+	/**
+	 * <strong> Optional </strong>
+	 * Records the draw, touch, layout, show and dismiss timings of the widget.
+	 * @param metrics - Metrics to record to, null to stop recording.
+	 */
+	public void setMetrics(RadialMenuMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return the metrics
+	 */
+	public RadialMenuMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Enables counting of the objects allocated while drawing a frame. This is
+	 * meant for tests that guard the draw path against allocation regressions.
+	 * @param track - true to count allocations in onDraw.
+	 */
+	public void setDrawAllocationTracking(boolean track) {
+		this.trackDrawAllocations = track;
+	}
+
+	/**
+	 * @return Number of objects allocated during the last drawn frame, only
+	 * updated while draw allocation tracking is enabled.
+	 */
+	public int getLastDrawAllocationCount() {
+		return lastDrawAllocations;
+	}
+
 	/**
 	 * Dismisses the radial menu widget.
 	 */
 	public void dismiss() {
-		if(mWindow != null)
+		long dismissStart = metrics != null ? System.nanoTime() : 0;
+		cancelChildLoad();
+		setDragWedge(RadialMenuHitTester.NO_WEDGE);
+		if (overlay != null)
+			overlay.hideMenu(this);
+		if(mWindow != null && mWindow.isShowing())
 			mWindow.dismiss();
+		if (metrics != null) {
+			metrics.recordDismiss(dismissStart);
+		}
+	}
+
+	@Override
+	public boolean onKeyDown(int keyCode, KeyEvent event) {
+		// The popup window handles the back key itself
+		if (keyCode == KeyEvent.KEYCODE_BACK && overlay != null
+				&& overlay.isShowing(this)) {
+			dismiss();
+			return true;
+		}
+		return super.onKeyDown(keyCode, event);
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		releaseRenderCache();
 	}
 }
@@ -17,6 +17,10 @@
 
 package com.touchmenotapps.widget.radialmenu.menu.v2;
 
+import android.graphics.RectF;
+
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
 /**
  * This is the helper class for Radial Menu widget.
  * It contains certain functions that are used in creating the radial menu.
@@ -25,6 +29,8 @@ package com.touchmenotapps.widget.radialmenu.menu.v2;
  */
 public class RadialMenuHelperFunctions {
 
+	private final float[] mBounds = new float[4];
+
 	/**
 	 * 
 	 * @param mWidth
@@ -34,10 +40,7 @@ public class RadialMenuHelperFunctions {
 	 * @return
 	 */
 	public float distance(float mWidth, float mHeight, float x2, float y2) {
-		double dx = mWidth - x2; //horizontal difference 
-		double dy = mHeight - y2; //vertical difference 
-		float dist = (float) Math.sqrt(dx * dx + dy * dy); //distance using Pythagoras theorem
-		return dist;
+		return (float) Math.sqrt(RadialGeometry.distanceSquared(mWidth, mHeight, x2, y2));
 	}
 
 	/**
@@ -51,11 +54,22 @@ public class RadialMenuHelperFunctions {
 	 * @return
 	 */
 	public float angle(float mWidth, float mHeight, float x2, float y2, boolean alt, int items) {
-		double dx = x2 - mWidth; //horizontal difference 
-		double dy = y2 - mHeight; //vertical difference 
-		float angle = (float) (Math.atan2(dy, dx) * 180 / Math.PI) + 90 + (alt ? (360 / items) / 2 : 0);
-		if (angle < 0)
-			return (angle + 360) / (360 / items);
-		return angle / (360 / items);
+		return RadialGeometry.sectorPosition(mWidth, mHeight, x2, y2, alt, items);
+	}
+
+	/**
+	 * Computes the bounds of a ring sector.
+	 * @param centerX - Center X of the ring.
+	 * @param centerY - Center Y of the ring.
+	 * @param innerRadius - Inner radius of the sector.
+	 * @param outerRadius - Outer radius of the sector.
+	 * @param startAngle - Start angle in degrees, clockwise from 3 o'clock.
+	 * @param sweepAngle - Sweep angle in degrees.
+	 * @param bounds - RectF receiving the bounds.
+	 */
+	public void sectorBounds(float centerX, float centerY, float innerRadius, float outerRadius,
+			float startAngle, float sweepAngle, RectF bounds) {
+		RadialGeometry.sectorBounds(centerX, centerY, innerRadius, outerRadius, startAngle, sweepAngle, mBounds);
+		bounds.set(mBounds[0], mBounds[1], mBounds[2], mBounds[3]);
 	}
 }
@@ -24,17 +24,37 @@ import com.touchmenotapps.widget.radialmenu.menu.v2.RadialMenuRenderer.OnRadailM
  */
 public class RadialMenuItem {
 
+	/** A menu option that can be selected. */
+	public static final int TYPE_OPTION = 0;
+	/** A hollow sector, neither drawn nor selectable. */
+	public static final int TYPE_SPACER = 1;
+	/** A menu option that is drawn greyed out and can not be selected. */
+	public static final int TYPE_DISABLED = 2;
+
 	private String mMenuID;
 	private String mMenuName;
 	private OnRadailMenuClick mCallback;
+	private final int mType;
 	
 	/**
+	 * Options named RadialMenuRenderer.RADIAL_NO_TEXT are spacers.
 	 * @param mMenuID
 	 * @param mMenuName
 	 */
 	public RadialMenuItem(String mMenuID, String mMenuName) {
+		this(mMenuID, mMenuName, RadialMenuRenderer.RADIAL_NO_TEXT.equals(mMenuName) ? TYPE_SPACER
+				: TYPE_OPTION);
+	}
+
+	/**
+	 * @param mMenuID
+	 * @param mMenuName
+	 * @param mType - One of the TYPE_ constants.
+	 */
+	public RadialMenuItem(String mMenuID, String mMenuName, int mType) {
 		this.mMenuID = mMenuID;
 		this.mMenuName = mMenuName;
+		this.mType = mType;
 	}
 
 	/**
@@ -50,6 +70,13 @@ public class RadialMenuItem {
 	public String getMenuName() {
 		return mMenuName;
 	}
+
+	/**
+	 * @return the mType
+	 */
+	public int getMenuType() {
+		return mType;
+	}
 	
 	/**
 	 * 
@@ -33,6 +33,8 @@ public class RadialMenuRenderer {
 	}
 	
 	public static final String RADIAL_NO_TEXT = "HOLLOW";
+	
+	public static final long DEFAULT_MARKING_DWELL_TIME = 300;
 
 	private ArrayList<RadialMenuItem> mRadialMenuContent = new ArrayList<RadialMenuItem>(0);
 	
@@ -51,6 +53,16 @@ public class RadialMenuRenderer {
 	private int mMenuBorderColor = 0xff777777;
 	
 	private View mParentView;
+	
+	private RadialMenuView mMenuView;
+	
+	private int mUpdateDepth = 0;
+	
+	private boolean mUpdatePending = false;
+	
+	private boolean mMarkingMenu = false;
+	
+	private long mMarkingDwellTime = DEFAULT_MARKING_DWELL_TIME;
 
 	/**
 	 * @param mRadialMenuContent
@@ -70,10 +82,79 @@ public class RadialMenuRenderer {
 	 */
 	public void setRadialMenuContent(ArrayList<RadialMenuItem> mRadialMenuContent) {
 		this.mRadialMenuContent = mRadialMenuContent;
+		onContentChanged();
+	}
+	
+	/**
+	 * @param item - Menu option to add at the end of the menu.
+	 */
+	public void addRadialMenuItem(RadialMenuItem item) {
+		mRadialMenuContent.add(item);
+		onContentChanged();
+	}
+	
+	/**
+	 * @param item - Menu option to remove.
+	 */
+	public void removeRadialMenuItem(RadialMenuItem item) {
+		if (mRadialMenuContent.remove(item))
+			onContentChanged();
+	}
+	
+	/**
+	 * @param index - Position of the menu option to replace.
+	 * @param item - New menu option.
+	 */
+	public void replaceRadialMenuItem(int index, RadialMenuItem item) {
+		mRadialMenuContent.set(index, item);
+		onContentChanged();
+	}
+	
+	/**
+	 * @param fromIndex - Current position of the menu option.
+	 * @param toIndex - New position of the menu option.
+	 */
+	public void moveRadialMenuItem(int fromIndex, int toIndex) {
+		mRadialMenuContent.add(toIndex, mRadialMenuContent.remove(fromIndex));
+		onContentChanged();
+	}
+	
+	/**
+	 * Starts a batch of menu changes, the rendered menu is only updated once the
+	 * matching commitUpdate() is called. Calls can be nested.
+	 */
+	public void beginUpdate() {
+		mUpdateDepth++;
+	}
+	
+	/**
+	 * Ends a batch of menu changes and updates the rendered menu if anything changed.
+	 */
+	public void commitUpdate() {
+		if (mUpdateDepth == 0)
+			return;
+		mUpdateDepth--;
+		if (mUpdateDepth == 0 && mUpdatePending) {
+			mUpdatePending = false;
+			onContentChanged();
+		}
+	}
+	
+	/**
+	 * Passes the menu content to the rendered menu, or defers it while a batch of changes is in progress.
+	 */
+	private void onContentChanged() {
+		if (mUpdateDepth > 0) {
+			mUpdatePending = true;
+			return;
+		}
+		if (mMenuView != null)
+			mMenuView.setRadialMenuContent(mRadialMenuContent);
 	}
 	
 	public View renderView() {
 		final RadialMenuView menu = new RadialMenuView(mParentView.getContext(), this);
+		mMenuView = menu;
 		mParentView.setOnTouchListener(new OnTouchListener() {
 			@Override
 			public boolean onTouch(View v, MotionEvent event) {
@@ -111,6 +192,42 @@ public class RadialMenuRenderer {
 		return mRadius;
 	}
 
+	/**
+	 * Turns on the marking menu mode for users who know where the options are.
+	 * Pressing no longer draws the menu right away: a quick stroke in the
+	 * direction of an option selects it without the menu ever being drawn.
+	 * The menu is only drawn once the finger rests for the dwell time.
+	 * @param markingMenu - true to recognize strokes before drawing the menu.
+	 */
+	public void setMarkingMenu(boolean markingMenu) {
+		this.mMarkingMenu = markingMenu;
+		if (mMenuView != null)
+			mMenuView.setMarkingMenu(mMarkingMenu, mMarkingDwellTime);
+	}
+
+	/**
+	 * @return the mMarkingMenu
+	 */
+	public boolean isMarkingMenu() {
+		return mMarkingMenu;
+	}
+
+	/**
+	 * @param millis - Time the finger has to rest before the marking menu is drawn.
+	 */
+	public void setMarkingDwellTime(long millis) {
+		this.mMarkingDwellTime = millis;
+		if (mMenuView != null)
+			mMenuView.setMarkingMenu(mMarkingMenu, mMarkingDwellTime);
+	}
+
+	/**
+	 * @return the mMarkingDwellTime
+	 */
+	public long getMarkingDwellTime() {
+		return mMarkingDwellTime;
+	}
+
 	/**
 	 * @return the mMenuBackgroundColor
 	 */
@@ -21,11 +21,17 @@ import java.util.ArrayList;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Rect;
 import android.graphics.RectF;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewConfiguration;
+
+import com.touchmenotapps.widget.radialmenu.RadialMenuMetrics;
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
 
 /**
  * 
@@ -34,6 +40,7 @@ import android.view.View;
  */
 public class RadialMenuView extends View {
 
+	//own copy of the renderer content, so batched changes only show on commit
 	private ArrayList<RadialMenuItem> mRadialMenuContent = new ArrayList<RadialMenuItem>(0);
 	
 	boolean alt;
@@ -50,17 +57,87 @@ public class RadialMenuView extends View {
 	
 	int lastE = -1;//last event, used to prevent excessive redrawing
 	
-	float[] endTouch;
+	float[] endTouch = new float[2];
 
 	private Paint mBgPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
 	
 	private Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
 
+	private Paint mDisabledTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
 	private Paint mSelectedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
 
 	private Paint mBorderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	private Paint mSeparatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
 	
 	private RadialMenuHelperFunctions mHelperFunctions;
+
+	private RectF mDirtyBounds = new RectF();
+
+	private Rect mDirtyRect = new Rect();
+
+	private Rect mSectorRect = new Rect();
+
+	private RadialMenuMetrics mMetrics = null;
+
+	//sector table, rebuilt by determineSectors when the content is set
+	private int[] mSectorType = new int[0];
+
+	private float[] mSectorStart = new float[0];
+
+	private float mSectorSweep;
+
+	private String[] mLabels = new String[0];
+
+	private int[] mVisibleSectors = new int[0];//indexes of the sectors that are not spacers
+
+	private int mVisibleCount = 0;
+
+	//geometry relative to the menu center, rebuilt by determineGeometry
+	private int mGeometryQty = -1;
+
+	private boolean mGeometryAlt;
+
+	private float mGeometryRadius;
+
+	private float mGeometryThickness;
+
+	private RectF mArcRect = new RectF();
+
+	private RectF mOuterBorderRect = new RectF();
+
+	private RectF mInnerBorderRect = new RectF();
+
+	private Path[] mLabelPaths = new Path[0];
+
+	private float mLabelOffset;
+
+	private Path mBackgroundPath = new Path();//all the visible sectors but the selected one
+
+	private int mBackgroundSelected = -1;//selected sector left out of mBackgroundPath
+
+	private Path mSeparatorPath = new Path();
+
+	private Path mBorderPath = new Path();//outer and inner borders
+
+	//marking menu mode, see RadialMenuRenderer.setMarkingMenu
+	private boolean mMarkingMenu = false;
+
+	private long mMarkingDwellTime;
+
+	private float mDwellX;
+
+	private float mDwellY;
+
+	private float mTouchSlopSquare;
+
+	private Runnable mRevealMenu = new Runnable() {
+		@Override
+		public void run() {
+			revealMenu();
+		}
+	};
 	
 	/**
 	 * 
@@ -70,12 +147,17 @@ public class RadialMenuView extends View {
 	public RadialMenuView(Context context, RadialMenuRenderer renderer) {
 		super(context);
 		mHelperFunctions = new RadialMenuHelperFunctions();
-		mRadialMenuContent = renderer.getRadialMenuContent();
+		mRadialMenuContent.addAll(renderer.getRadialMenuContent());
 		alt = renderer.isAlt();
 		mThickness = renderer.getMenuThickness();
 		mRadius = renderer.getRadius();
+		mMarkingMenu = renderer.isMarkingMenu();
+		mMarkingDwellTime = renderer.getMarkingDwellTime();
+		float touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+		mTouchSlopSquare = touchSlop * touchSlop;
 		setVisibility(GONE);
 		initSetPaint(renderer);
+		determineSectors();
 	}
 	
 	/**
@@ -92,11 +174,57 @@ public class RadialMenuView extends View {
 		mSelectedPaint.setStyle(Paint.Style.STROKE);
 
 		mBorderPaint.setColor(renderer.getMenuBorderColor());
-		mBorderPaint.setStrokeWidth(renderer.getMenuThickness());
+		mBorderPaint.setStrokeWidth(2);
 		mBorderPaint.setStyle(Paint.Style.STROKE);
 
+		mSeparatorPaint.set(mBorderPaint);
+		mSeparatorPaint.setStrokeWidth(renderer.getMenuThickness());
+
 		mTextPaint.setColor(renderer.getMenuTextColor());
 		mTextPaint.setTextSize((float) (renderer.getMenuThickness() / 2));
+
+		mDisabledTextPaint.set(mTextPaint);
+		mDisabledTextPaint.setAlpha(Color.alpha(renderer.getMenuTextColor()) / 2);
+	}
+
+	/**
+	 * Replaces the menu options and redraws the menu once. The options are
+	 * copied, so later changes to the list do not reach the sector table
+	 * until they are passed in again.
+	 * @param content
+	 */
+	void setRadialMenuContent(ArrayList<RadialMenuItem> content) {
+		mRadialMenuContent.clear();
+		mRadialMenuContent.addAll(content);
+		determineSectors();
+		selected = -1;
+		lastE = -1;
+		invalidate();
+	}
+
+	/**
+	 * Turns the marking menu mode on or off.
+	 * @param markingMenu - true to recognize strokes before drawing the menu.
+	 * @param dwellTime - Time the finger has to rest before the menu is drawn.
+	 */
+	void setMarkingMenu(boolean markingMenu, long dwellTime) {
+		mMarkingMenu = markingMenu;
+		mMarkingDwellTime = dwellTime;
+	}
+
+	/**
+	 * Record the draw, touch and show timings of the widget.
+	 * @param metrics - Metrics to record to, null to stop recording.
+	 */
+	public void setMetrics(RadialMenuMetrics metrics) {
+		this.mMetrics = metrics;
+	}
+
+	/**
+	 * @return the mMetrics
+	 */
+	public RadialMenuMetrics getMetrics() {
+		return mMetrics;
 	}
 
 	//prevents offscreen drawing and calcs
@@ -115,74 +243,123 @@ public class RadialMenuView extends View {
 		mHeight = y;
 	}
 
-	@Override
-	public void onDraw(Canvas canvas) {
-		//Fixes drawing off screen
-		setLoc(mWidth, mHeight);
-		final RectF rect = new RectF();
-		rect.set(mWidth - mRadius, mHeight - mRadius, mWidth + mRadius, mHeight + mRadius);
+	/**
+	 * Builds the type, angles and label of every sector, and the table of the
+	 * sectors that are not spacers, so drawing and gestures never look at the
+	 * menu options themselves.
+	 */
+	private void determineSectors() {
 		int tot = mRadialMenuContent.size();
-
-		mBorderPaint.setStrokeWidth(mThickness);
-		//draws back of radial first
+		if (mSectorType.length != tot) {
+			mSectorType = new int[tot];
+			mSectorStart = new float[tot];
+			mLabels = new String[tot];
+			mVisibleSectors = new int[tot];
+		}
+		mVisibleCount = 0;
+		//float boundaries, so the sectors add up to the full circle
+		mSectorSweep = RadialGeometry.sectorSweepDegrees(tot);
 		for (int counter = 0; counter < tot; counter++) {
-			if (!mRadialMenuContent.get(counter).equals(RadialMenuRenderer.RADIAL_NO_TEXT))
-				if (alt) 
-					canvas.drawArc(rect, (float) (360 / tot * counter - 90 - 360 / tot / 2), (float) (360 / tot), false, (selected == counter ? mSelectedPaint : mBgPaint));
-				else 
-					canvas.drawArc(rect, (float) (360 / tot * counter - 90), (float) (360 / tot), false, (selected == counter ? mSelectedPaint : mBgPaint));
+			RadialMenuItem item = mRadialMenuContent.get(counter);
+			mSectorType[counter] = item.getMenuType();
+			mSectorStart[counter] = RadialGeometry.sectorStartDegrees(counter, tot, alt);
+			mLabels[counter] = item.getMenuName();
+			if (mSectorType[counter] != RadialMenuItem.TYPE_SPACER)
+				mVisibleSectors[mVisibleCount++] = counter;
 		}
+		mGeometryQty = -1;
+	}
 
-		//draws text
-		for (int counter = 0; counter < tot; counter++) {
-			if (!mRadialMenuContent.get(counter).equals(RadialMenuRenderer.RADIAL_NO_TEXT)) {
-				Path arc = new Path();
-				if (alt) {
-					arc.addArc(rect, (float) (360 / tot * counter - 90 - 360 / tot / 2) + 10, (float) (360 / tot) - 10);
-					canvas.drawTextOnPath(mRadialMenuContent.get(counter).getMenuName(), arc, 0, +mThickness / 8, mTextPaint);
-				} else {
-					arc.addArc(rect, (float) (360 / tot * counter - 90) + 10, (float) (360 / tot) - 10);
-					canvas.drawTextOnPath(mRadialMenuContent.get(counter).getMenuName(), arc, 0, -mThickness / 8, mTextPaint);
-				}
+	/**
+	 * Builds the ring rects, the label paths of the sectors and the separator
+	 * and border paths around the origin, unless the sector count, alt, radius and thickness are the same
+	 * as last time. Moving the menu to another touch location only translates
+	 * the canvas, so the geometry does not depend on it.
+	 */
+	private void determineGeometry() {
+		int tot = mSectorType.length;
+		if (tot == mGeometryQty && alt == mGeometryAlt && mRadius == mGeometryRadius
+				&& mThickness == mGeometryThickness)
+			return;
+		mGeometryQty = tot;
+		mGeometryAlt = alt;
+		mGeometryRadius = mRadius;
+		mGeometryThickness = mThickness;
+		mArcRect.set(-mRadius, -mRadius, mRadius, mRadius);
+		mOuterBorderRect.set(-mRadius - mThickness / 2, -mRadius - mThickness / 2, mRadius + mThickness / 2, mRadius + mThickness / 2);
+		mInnerBorderRect.set(-mRadius + mThickness / 2, -mRadius + mThickness / 2, mRadius - mThickness / 2, mRadius - mThickness / 2);
+		mLabelOffset = alt ? +mThickness / 8 : -mThickness / 8;
+		if (mLabelPaths.length != tot)
+			mLabelPaths = new Path[tot];
+		for (int v = 0; v < mVisibleCount; v++) {
+			int counter = mVisibleSectors[v];
+			if (mLabelPaths[counter] == null)
+				mLabelPaths[counter] = new Path();
+			else
+				mLabelPaths[counter].reset();
+			mLabelPaths[counter].addArc(mArcRect, mSectorStart[counter] + 10, mSectorSweep - 10);
+		}
+		//separators and borders are drawn as one path each
+		mSeparatorPath.reset();
+		mBorderPath.reset();
+		for (int v = 0; v < mVisibleCount; v++) {
+			float start = mSectorStart[mVisibleSectors[v]];
+			if (tot > 1) {
+				mSeparatorPath.addArc(mArcRect, start - 1, 2);
+				mSeparatorPath.addArc(mArcRect, start + mSectorSweep - 1, 2);
 			}
+			mBorderPath.addArc(mOuterBorderRect, start - 1, mSectorSweep + 2);
+			mBorderPath.addArc(mInnerBorderRect, start - 1, mSectorSweep + 1);
 		}
+		determineBackground();
+	}
 
-		//draws separators between each option
-		if (tot > 1)
-			for (int counter = 0; counter < tot; counter++) {
-				if (!mRadialMenuContent.get(counter).equals(RadialMenuRenderer.RADIAL_NO_TEXT))
-					if (alt) {
-						canvas.drawArc(rect, (float) (360 / tot * counter - 91 - 360 / tot / 2), 2, false, mBorderPaint);
-						canvas.drawArc(rect, (float) (360 / tot * (counter + 1) - 91 - 360 / tot / 2), 2, false, mBorderPaint);
-					} else {
-						canvas.drawArc(rect, (float) (360 / tot * counter - 91), 2, false, mBorderPaint);
-						canvas.drawArc(rect, (float) (360 / tot * (counter + 1) - 91), 2, false, mBorderPaint);
-					}
-			}
+	/**
+	 * Builds the background path out of all the visible sectors except the
+	 * selected one, which is drawn on its own.
+	 */
+	private void determineBackground() {
+		mBackgroundSelected = selected;
+		mBackgroundPath.reset();
+		for (int v = 0; v < mVisibleCount; v++) {
+			int counter = mVisibleSectors[v];
+			if (counter != selected)
+				mBackgroundPath.addArc(mArcRect, mSectorStart[counter], mSectorSweep);
+		}
+	}
 
-		//draws outer and inner boarders
-		mBorderPaint.setStrokeWidth(2);
-		rect.set(mWidth - mRadius - mThickness / 2, mHeight - mRadius - mThickness / 2, mWidth + mRadius + mThickness / 2, mHeight + mRadius + mThickness / 2);
+	@Override
+	public void onDraw(Canvas canvas) {
+		long drawStart = mMetrics != null ? System.nanoTime() : 0;
+		//Fixes drawing off screen
+		setLoc(mWidth, mHeight);
+		determineGeometry();
+		if (selected != mBackgroundSelected)
+			determineBackground();
+		//the geometry is built around the origin
+		int saveCount = canvas.save();
+		canvas.translate(mWidth, mHeight);
 
-		for (int counter = 0; counter < tot; counter++) {
-			if (!mRadialMenuContent.get(counter).equals(RadialMenuRenderer.RADIAL_NO_TEXT))
-				if (alt) {
-					canvas.drawArc(rect, (float) (360 / tot * counter - 91 - 360 / tot / 2), (float) (360 / tot) + 2, false, mBorderPaint);
-				} else {
-					canvas.drawArc(rect, (float) (360 / tot * counter - 91), (float) (360 / tot) + 2, false, mBorderPaint);
-				}
+		//draws back of radial first, spacers are left hollow
+		canvas.drawPath(mBackgroundPath, mBgPaint);
+		if (selected >= 0 && selected < mSectorStart.length) {
+			canvas.drawArc(mArcRect, mSectorStart[selected], mSectorSweep, false, mSelectedPaint);
 		}
 
-		rect.set(mWidth - mRadius + mThickness / 2, mHeight - mRadius + mThickness / 2, mWidth + mRadius - mThickness / 2, mHeight + mRadius - mThickness / 2);
-
-		for (int counter = 0; counter < tot; counter++) {
-			if (!mRadialMenuContent.get(counter).equals(RadialMenuRenderer.RADIAL_NO_TEXT))
-				if (alt) {
-					canvas.drawArc(rect, (float) (360 / tot * counter - 91 - 360 / tot / 2), (float) (360 / tot) + 1, false, mBorderPaint);
-				} else {
-					canvas.drawArc(rect, (float) (360 / tot * counter - 91), (float) (360 / tot) + 1, false, mBorderPaint);
-				}
+		//draws text
+		for (int v = 0; v < mVisibleCount; v++) {
+			int counter = mVisibleSectors[v];
+			canvas.drawTextOnPath(mLabels[counter], mLabelPaths[counter], 0, mLabelOffset,
+					(mSectorType[counter] == RadialMenuItem.TYPE_DISABLED ? mDisabledTextPaint : mTextPaint));
 		}
+
+		//draws separators between each option
+		canvas.drawPath(mSeparatorPath, mSeparatorPaint);
+		//draws outer and inner boarders
+		canvas.drawPath(mBorderPath, mBorderPaint);
+		canvas.restoreToCount(saveCount);
+		if (mMetrics != null)
+			mMetrics.recordFrame(drawStart);
 	}
 
 	/**
@@ -191,21 +368,19 @@ public class RadialMenuView extends View {
 	 * @return
 	 */
 	private boolean handleEvent(int e) {
-		if (e == mRadialMenuContent.size())
+		if (e == mSectorType.length)
 			e = 0;
 		else if (e == -1) {
 			selected = -1;
 			return false;
 		}
-		if (mRadialMenuContent.get(e).getMenuName().equals(RadialMenuRenderer.RADIAL_NO_TEXT)) {
-			selected = -1;
-			invalidate();
+		if (mSectorType[e] != RadialMenuItem.TYPE_OPTION) {
+			invalidateSelectionChange(-1);
 			return false;
 		}
 		mRadialMenuContent.get(e).getOnRadailMenuClick()
 			.onRadailMenuClickedListener(mRadialMenuContent.get(e).getMenuID());
-		selected = -1;
-		invalidate();
+		invalidateSelectionChange(-1);
 		return true;
 	}
 
@@ -214,48 +389,123 @@ public class RadialMenuView extends View {
 	 * @param e
 	 */
 	private void preEvent(int e) {
-		if (e == mRadialMenuContent.size())
+		if (e == mSectorType.length)
 			e = 0;
 		else if (lastE == e)
 			return;
 		lastE = e;
 		if (e == -1) {
-			selected = -1;
-			invalidate();
+			invalidateSelectionChange(-1);
 			return;
 		}
-		if (mRadialMenuContent.get(e).getMenuName().equals(RadialMenuRenderer.RADIAL_NO_TEXT)) {
-			selected = -1;
-			invalidate();
+		if (mSectorType[e] != RadialMenuItem.TYPE_OPTION) {
+			invalidateSelectionChange(-1);
 			return;
 		}
-		selected = e;
-		invalidate();
+		invalidateSelectionChange(e);
 		return;
 	}
 
+	/**
+	 * Changes the selected option and redraws only the options that changed.
+	 * @param newSelected - Index of the new selected option, -1 for none.
+	 */
+	private void invalidateSelectionChange(int newSelected) {
+		if (newSelected == selected)
+			return;
+		mDirtyRect.setEmpty();
+		addDirtySector(selected);
+		addDirtySector(newSelected);
+		selected = newSelected;
+		if (!mDirtyRect.isEmpty())
+			invalidate(mDirtyRect);
+	}
+
+	/**
+	 * Adds the area of an option, including its borders and separators, to the dirty rect.
+	 * @param index - Index of the option, ignored if -1.
+	 */
+	private void addDirtySector(int index) {
+		if (index < 0 || index >= mSectorStart.length)
+			return;
+		//separators and borders reach 1 degree and a stroke past the option
+		mHelperFunctions.sectorBounds(mWidth, mHeight, mRadius - mThickness / 2 - 2, mRadius + mThickness / 2 + 2,
+				mSectorStart[index] - 1, mSectorSweep + 2, mDirtyBounds);
+		mDirtyBounds.roundOut(mSectorRect);
+		mDirtyRect.union(mSectorRect);
+	}
+
+	/**
+	 * Finds the sector under a point, using the same boundaries the sectors
+	 * are drawn with.
+	 * @param x - Point X.
+	 * @param y - Point Y.
+	 * @return Index of the sector, or -1 if the point is inside the ring.
+	 */
+	private int sectorAt(float x, float y) {
+		return RadialGeometry.sectorAt(mWidth, mHeight, x, y, mRadius - mThickness / 2, alt,
+				mSectorType.length);
+	}
+
+	/**
+	 * Draws the menu hidden by the marking menu mode, once the finger rested
+	 * long enough.
+	 */
+	private void revealMenu() {
+		if (mMetrics != null)
+			mMetrics.markShow();
+		this.setVisibility(View.VISIBLE);
+		invalidate();
+		preEvent(sectorAt(endTouch[0], endTouch[1]));
+	}
+
 	public boolean gestureHandler(MotionEvent event, boolean eat) {
+		if (mMetrics != null)
+			mMetrics.markTouch(event);
 		if (event.getAction() == MotionEvent.ACTION_UP) {
-			endTouch = new float[] { event.getX(), event.getY() };
-			if (mHelperFunctions.distance(mWidth, mHeight, endTouch[0], endTouch[1]) > mRadius - mThickness / 2) {
-				this.setVisibility(View.GONE);
-				return handleEvent((int) mHelperFunctions.angle(mWidth, mHeight, endTouch[0], endTouch[1], alt, mRadialMenuContent.size()));
-			} else {
-				this.setVisibility(View.GONE);
-				return handleEvent(-1);
-			}
+			endTouch[0] = event.getX();
+			endTouch[1] = event.getY();
+			removeCallbacks(mRevealMenu);
+			this.setVisibility(View.GONE);
+			//in the marking menu mode a stroke selects the option in its
+			//direction, whether the menu was drawn or not
+			return handleEvent(sectorAt(endTouch[0], endTouch[1]));
 		} else if (event.getAction() == MotionEvent.ACTION_DOWN) {
 			mWidth = event.getX();
 			mHeight = event.getY();
-			this.setVisibility(View.VISIBLE);
-			invalidate();
-		} else if (event.getAction() == MotionEvent.ACTION_MOVE) {//drag
-			endTouch = new float[] { event.getX(), event.getY() };
-			if (mHelperFunctions.distance(mWidth, mHeight, endTouch[0], endTouch[1]) > mRadius - mThickness / 2) {
-				preEvent((int) mHelperFunctions.angle(mWidth, mHeight, endTouch[0], endTouch[1], alt, mRadialMenuContent.size()));
+			endTouch[0] = mWidth;
+			endTouch[1] = mHeight;
+			lastE = -1;
+			if (mMarkingMenu) {
+				//waits for the finger to rest before drawing anything
+				mDwellX = mWidth;
+				mDwellY = mHeight;
+				postDelayed(mRevealMenu, mMarkingDwellTime);
 			} else {
-				preEvent(-1);
+				if (mMetrics != null)
+					mMetrics.markShow();
+				this.setVisibility(View.VISIBLE);
+				invalidate();
+			}
+		} else if (event.getAction() == MotionEvent.ACTION_MOVE) {//drag
+			//a move batches the samples since the previous one, only where the
+			//finger ended up matters for the selection
+			endTouch[0] = event.getX();
+			endTouch[1] = event.getY();
+			if (getVisibility() == View.VISIBLE) {
+				preEvent(sectorAt(endTouch[0], endTouch[1]));
+			} else if (mMarkingMenu && RadialGeometry.distanceSquared(mDwellX, mDwellY,
+					endTouch[0], endTouch[1]) > mTouchSlopSquare) {
+				//still stroking, restarts the wait
+				mDwellX = endTouch[0];
+				mDwellY = endTouch[1];
+				removeCallbacks(mRevealMenu);
+				postDelayed(mRevealMenu, mMarkingDwellTime);
 			}
+		} else if (event.getAction() == MotionEvent.ACTION_CANCEL) {
+			removeCallbacks(mRevealMenu);
+			this.setVisibility(View.GONE);
+			handleEvent(-1);
 		}
 		//Eats touch if needed, fixes scrollable elements from interfering
 		return eat;
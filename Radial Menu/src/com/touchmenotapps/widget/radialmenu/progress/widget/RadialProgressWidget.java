@@ -17,12 +17,13 @@
 package com.touchmenotapps.widget.radialmenu.progress.widget;
 
 import com.touchmenotapps.widget.radialmenu.RadialMenuColors;
+import com.touchmenotapps.widget.radialmenu.RadialMenuMetrics;
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
 
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Point;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Typeface;
@@ -91,8 +92,12 @@ public class RadialProgressWidget extends View {
 	
 	private String mFontName = null;
 	
+	private Typeface mTypeface = null;
+	
 	private OnRadialViewValueChanged mCallback;
 	
+	private RadialMenuMetrics mMetrics = null;
+	
 	public interface OnRadialViewValueChanged {
 		public void onValueChanged(int value);
 	}
@@ -127,6 +132,7 @@ public class RadialProgressWidget extends View {
 		
 	@Override
 	protected void onDraw(Canvas canvas) {
+		long drawStart = mMetrics != null ? System.nanoTime() : 0;
 		super.onDraw(canvas);
 		//Draw the outer circle
 		mRadialWidgetPaint.setStyle(Style.STROKE);
@@ -163,8 +169,8 @@ public class RadialProgressWidget extends View {
 		//Draw the center value text
 		mRadialWidgetPaint.setColor(mCenterTextColor);
 		mRadialWidgetPaint.setTextSize(mCenterTextSize);		
-		if(mFontName != null) 
-			mRadialWidgetPaint.setTypeface(Typeface.createFromAsset(getContext().getAssets(), mFontName));
+		if(mTypeface != null) 
+			mRadialWidgetPaint.setTypeface(mTypeface);
 		float textWidth = 0.0f;
 		//Check if the user wants percentage value
 		if(isShowPercentText) {
@@ -181,10 +187,13 @@ public class RadialProgressWidget extends View {
 			mRadialWidgetPaint.setTextSize(mSecondaryTextSize);		
 			canvas.drawText(mSecondaryText, (getWidth()/ 2) - (textWidth/5), (getHeight()/2) + mRadius/3, mRadialWidgetPaint);
 		}
+		if(mMetrics != null)
+			mMetrics.recordFrame(drawStart);
 	}
 	
 	@Override
 	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		long layoutStart = mMetrics != null ? System.nanoTime() : 0;
 		super.onSizeChanged(w, h, oldw, oldh);
 		//Determine the diameter and the radius based on device orientation
 		if(w > h) {
@@ -204,14 +213,18 @@ public class RadialProgressWidget extends View {
 		//Init the font size
 		mCenterTextSize = mRadius/2;
 		mSecondaryTextSize = mRadius/5;
+		if(mMetrics != null)
+			mMetrics.recordLayout(layoutStart);
 	}
 	
 	@Override
 	public boolean onTouchEvent(MotionEvent event) {
+		if(mMetrics != null && isTouchEnabled)
+			mMetrics.markTouch(event);
 		if(isTouchEnabled) {
 			switch(event.getAction()) {
 			case MotionEvent.ACTION_MOVE:
-				angle = getAngleABC(new Point(getWidth()/2, 0),  new Point(getWidth()/2, getHeight()/2), new Point((int) event.getX(), (int) event.getY()));
+				angle = RadialGeometry.angleABC(getWidth()/2, 0, getWidth()/2, getHeight()/2, (int) event.getX(), (int) event.getY());
 				Log.d("Test", "Angle " + angle);
 				if((int) ((angle * mMaxValue) / mMaxSweepAngle) > mMinChangeValue && (int) ((angle * mMaxValue) / mMaxSweepAngle) < mMaxChangeValue) {
 					setCurrentValue((int) ((angle * mMaxValue) / mMaxSweepAngle));
@@ -226,18 +239,6 @@ public class RadialProgressWidget extends View {
 			return false;
 	}
 	
-	private int getAngleABC( Point a, Point b, Point c ) {
-		Point ab = new Point(b.x - a.x, b.y - a.y);
-		Point cb = new Point(b.x - c.x, b.y - c.y);
-	    float dot = (ab.x * cb.x + ab.y * cb.y); // dot product
-	    float cross = (ab.x * cb.y - ab.y * cb.x); // cross product
-	    float alpha = (float) Math.atan2(cross, dot);
-	    if((int) Math.toDegrees(alpha) < 0) 
-	    	return ((int) Math.toDegrees(alpha)) + 360;
-	    else
-	    	return (int) Math.toDegrees(alpha);
-	}
-	
 	/********************************************************************************************************************
 	 * Getter and setter functions
 	 ********************************************************************************************************************/
@@ -484,9 +485,29 @@ public class RadialProgressWidget extends View {
 	}
 	
 	/**
-	 * @param mFont
+	 * Record the draw, touch and layout timings of the widget.
+	 * @param metrics - Metrics to record to, null to stop recording.
+	 */
+	public void setMetrics(RadialMenuMetrics metrics) {
+		this.mMetrics = metrics;
+	}
+
+	/**
+	 * @return the mMetrics
+	 */
+	public RadialMenuMetrics getMetrics() {
+		return mMetrics;
+	}
+
+	/**
+	 * Loads the typeface once here, rather than on every frame.
+	 * @param mFont - Font asset path, or null for the default typeface.
 	 */
 	public void setFontName(String mFont) {
 		mFontName = mFont;
+		mTypeface = mFont != null ? Typeface.createFromAsset(getContext().getAssets(), mFont) : null;
+		if(mTypeface == null)
+			mRadialWidgetPaint.setTypeface(null);
+		invalidate();
 	}
 }
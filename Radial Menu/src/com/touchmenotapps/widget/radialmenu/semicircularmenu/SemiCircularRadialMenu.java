@@ -17,8 +17,11 @@
 package com.touchmenotapps.widget.radialmenu.semicircularmenu;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 import com.touchmenotapps.widget.radialmenu.RadialMenuColors;
+import com.touchmenotapps.widget.radialmenu.RadialMenuMetrics;
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
 
 import android.content.Context;
 import android.graphics.Canvas;
@@ -35,7 +38,6 @@ import android.view.View;
 
 /**
  * This is the core class that handles the widget display and user interaction.
- * TODO At times the arc area bound check fails. Gotta check that.
  * @author Arindam Nath (strider2023@gmail.com)
  */
 public class SemiCircularRadialMenu extends View {
@@ -57,7 +59,11 @@ public class SemiCircularRadialMenu extends View {
 	private RectF mMenuCenterButtonRect;	
 	private Paint mRadialMenuPaint = new Paint(Paint.ANTI_ALIAS_FLAG);	
 	private Point mViewAnchorPoints;	
-	private HashMap<String, SemiCircularRadialMenuItem> mMenuItems = new HashMap<String, SemiCircularRadialMenuItem>();
+	private HashMap<String, SemiCircularRadialMenuItem> mMenuItems = new LinkedHashMap<String, SemiCircularRadialMenuItem>();
+	private int mUpdateDepth = 0;
+	private boolean isUpdatePending = false;
+	private RadialMenuMetrics mMetrics = null;
+	private Rect mDirtyRect = new Rect();
 	//Variables that can be user defined	
 	private float mShadowRadius = 5 * getResources().getDisplayMetrics().density;	
 	private boolean isShowMenuText = false;	
@@ -94,6 +100,7 @@ public class SemiCircularRadialMenu extends View {
 	
 	@Override
 	protected void onDraw(Canvas canvas) {
+		long drawStart = mMetrics != null ? System.nanoTime() : 0;
 		super.onDraw(canvas);
 		mRadialMenuPaint.setShadowLayer(mShadowRadius, 0.0f, 0.0f, mShadowColor);  
 		//Draw the menu if the menu is to be displayed.
@@ -101,12 +108,8 @@ public class SemiCircularRadialMenu extends View {
 			canvas.drawArc(mMenuRect, mStartAngle, 180, true, mRadialMenuPaint);
 			//See if there is any item in the collection
 			if(mMenuItems.size() > 0) {
-				float mStart = mStartAngle;
-				//Get the sweep angles based on the number of menu items
-				float mSweep = 180/mMenuItems.size();
 				for(SemiCircularRadialMenuItem item : mMenuItems.values()) {
 					mRadialMenuPaint.setColor(item.getBackgroundColor());
-					item.setMenuPath(mMenuCenterButtonRect, mMenuRect, mStart, mSweep, mRadius, mViewAnchorPoints);
 					canvas.drawPath(item.getMenuPath(), mRadialMenuPaint);
 					if(isShowMenuText) {
 						mRadialMenuPaint.setShadowLayer(mShadowRadius, 0.0f, 0.0f, Color.TRANSPARENT);  
@@ -114,8 +117,8 @@ public class SemiCircularRadialMenu extends View {
 						canvas.drawTextOnPath(item.getText(), item.getMenuPath(), 5, textSize, mRadialMenuPaint);
 						mRadialMenuPaint.setShadowLayer(mShadowRadius, 0.0f, 0.0f, mShadowColor);
 					}
-					item.getIcon().draw(canvas);
-					mStart += mSweep;
+					if(item.getIcon() != null)
+						item.getIcon().draw(canvas);
 				}
 				mRadialMenuPaint.setStyle(Style.FILL);
 			}
@@ -126,10 +129,14 @@ public class SemiCircularRadialMenu extends View {
 		mRadialMenuPaint.setShadowLayer(mShadowRadius, 0.0f, 0.0f, Color.TRANSPARENT);  
 		//Draw the center text
 		drawCenterText(canvas, mRadialMenuPaint);
+		if(mMetrics != null)
+			mMetrics.recordFrame(drawStart);
 	}
 	
 	@Override
 	public boolean onTouchEvent(MotionEvent event) {
+		if(mMetrics != null)
+			mMetrics.markTouch(event);
 		int x = (int) event.getX();
 		int y = (int) event.getY();
 		
@@ -138,20 +145,26 @@ public class SemiCircularRadialMenu extends View {
 			if(mMenuCenterButtonRect.contains(x, y)) {
 				centerRadialColor = RadialMenuColors.HOLO_LIGHT_BLUE;
 				isMenuTogglePressed = true;
-				invalidate();
+				invalidateArea(mMenuCenterButtonRect);
 			} else if(isMenuVisible) {
 				if(mMenuItems.size() > 0) {
-					for(SemiCircularRadialMenuItem item : mMenuItems.values()) {
-						if(mMenuRect.contains((int) x, (int) y))
-							if(item.getBounds().contains((int) x, (int) y)) {
+					//Hit tests the arc itself rather than the bounding rect of the item
+					int index = RadialGeometry.halfRingSector(x, y, mViewAnchorPoints.x, mViewAnchorPoints.y,
+							mMenuCenterButtonRect.width()/2, mMenuRect.width()/2, mStartAngle, mMenuItems.size());
+					if(index != RadialGeometry.NO_SECTOR) {
+						for(SemiCircularRadialMenuItem item : mMenuItems.values()) {
+							if(index-- == 0) {
 								isMenuItemPressed = true;
 								mPressedMenuItemID = item.getMenuID();
 								break;
 							}
+						}
+					}
+					if(isMenuItemPressed) {
+						SemiCircularRadialMenuItem item = mMenuItems.get(mPressedMenuItemID);
+						item.setBackgroundColor(item.getMenuSelectedColor());
+						invalidateArea(item.getBounds());
 					}
-					mMenuItems.get(mPressedMenuItemID)
-						.setBackgroundColor(mMenuItems.get(mPressedMenuItemID).getMenuSelectedColor());
-					invalidate();
 				}
 			}
 			break;
@@ -162,6 +175,8 @@ public class SemiCircularRadialMenu extends View {
 					isMenuVisible = false;
 					centerMenuText = openMenuText;
 				} else {
+					if(mMetrics != null)
+						mMetrics.markShow();
 					isMenuVisible = true;
 					centerMenuText = closeMenuText;
 				}
@@ -173,10 +188,10 @@ public class SemiCircularRadialMenu extends View {
 				if(mMenuItems.get(mPressedMenuItemID).getCallback() != null) {
 					mMenuItems.get(mPressedMenuItemID).getCallback().onMenuItemPressed();
 				}
-				mMenuItems.get(mPressedMenuItemID)
-					.setBackgroundColor(mMenuItems.get(mPressedMenuItemID).getMenuNormalColor());
+				SemiCircularRadialMenuItem item = mMenuItems.get(mPressedMenuItemID);
+				item.setBackgroundColor(item.getMenuNormalColor());
 				isMenuItemPressed = false;
-				invalidate();
+				invalidateArea(item.getBounds());
 			}
 			break;
 		}
@@ -186,6 +201,7 @@ public class SemiCircularRadialMenu extends View {
 	
 	@Override
 	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		long layoutStart = mMetrics != null ? System.nanoTime() : 0;
 		super.onSizeChanged(w, h, oldw, oldh);
 		//Determine the diameter and the radius based on device orientation
 		if(w > h) {
@@ -198,8 +214,54 @@ public class SemiCircularRadialMenu extends View {
 		//Init the draw arc Rect object
 		mMenuRect = getRadialMenuRect(false);
 		mMenuCenterButtonRect = getRadialMenuRect(true);
+		determineMenuItemPaths();
+		if(mMetrics != null)
+			mMetrics.recordLayout(layoutStart);
+	}
+	
+	/**
+	 * Lay out the menu item paths and icons. This is done whenever the
+	 * menu size, orientation or items change rather than on every draw.
+	 */
+	private void determineMenuItemPaths() {
+		if(mMenuRect == null || mMenuItems.size() == 0)
+			return;
+		float mStart = mStartAngle;
+		//Get the sweep angles based on the number of menu items
+		float mSweep = RadialGeometry.halfRingSweepDegrees(mMenuItems.size());
+		for(SemiCircularRadialMenuItem item : mMenuItems.values()) {
+			item.setMenuPath(mMenuCenterButtonRect, mMenuRect, mStart, mSweep, mRadius, mViewAnchorPoints);
+			mStart += mSweep;
+		}
+	}
+	
+	/**
+	 * Lay out the menu items again and redraw, or defer it while a batch
+	 * of changes is in progress.
+	 */
+	private void onMenuItemsChanged() {
+		if(mUpdateDepth > 0) {
+			isUpdatePending = true;
+			return;
+		}
+		long layoutStart = mMetrics != null ? System.nanoTime() : 0;
+		determineMenuItemPaths();
+		if(mMetrics != null)
+			mMetrics.recordLayout(layoutStart);
+		invalidate();
 	}
 		
+	/**
+	 * Invalidate only the given area, grown by the shadow around it.
+	 * @param area
+	 */
+	private void invalidateArea(RectF area) {
+		int shadow = (int) Math.ceil(mShadowRadius) + 1;
+		mDirtyRect.set((int) Math.floor(area.left) - shadow, (int) Math.floor(area.top) - shadow,
+				(int) Math.ceil(area.right) + shadow, (int) Math.ceil(area.bottom) + shadow);
+		invalidate(mDirtyRect);
+	}
+	
 	/**
 	 * Draw the toggle menu button text.
 	 * @param canvas
@@ -313,6 +375,7 @@ public class SemiCircularRadialMenu extends View {
 		mOrientation = orientation;
 		mMenuRect = getRadialMenuRect(false);
 		mMenuCenterButtonRect = getRadialMenuRect(true);
+		determineMenuItemPaths();
 		invalidate();
 	}
 	
@@ -323,7 +386,7 @@ public class SemiCircularRadialMenu extends View {
 	 */
 	public void addMenuItem(String idTag, SemiCircularRadialMenuItem mMenuItem) {
 		mMenuItems.put(idTag, mMenuItem);
-		invalidate();
+		onMenuItemsChanged();
 	}
 	
 	/**
@@ -332,7 +395,7 @@ public class SemiCircularRadialMenu extends View {
 	 */
 	public void removeMenuItemById(String idTag) {
 		mMenuItems.remove(idTag);
-		invalidate();
+		onMenuItemsChanged();
 	}
 	
 	/**
@@ -340,7 +403,29 @@ public class SemiCircularRadialMenu extends View {
 	 */
 	public void removeAllMenuItems() {
 		mMenuItems.clear();
-		invalidate();
+		onMenuItemsChanged();
+	}
+	
+	/**
+	 * Start a batch of menu item changes. The items are only laid out once
+	 * the matching commitUpdate() is called. Calls can be nested.
+	 */
+	public void beginUpdate() {
+		mUpdateDepth++;
+	}
+	
+	/**
+	 * End a batch of menu item changes and lay out the items if anything
+	 * changed.
+	 */
+	public void commitUpdate() {
+		if(mUpdateDepth == 0)
+			return;
+		mUpdateDepth--;
+		if(mUpdateDepth == 0 && isUpdatePending) {
+			isUpdatePending = false;
+			onMenuItemsChanged();
+		}
 	}
 
 	/**
@@ -352,6 +437,21 @@ public class SemiCircularRadialMenu extends View {
 		invalidate();
 	}
 
+	/**
+	 * Record the draw, touch, layout and show timings of the widget.
+	 * @param metrics - Metrics to record to, null to stop recording.
+	 */
+	public void setMetrics(RadialMenuMetrics metrics) {
+		this.mMetrics = metrics;
+	}
+
+	/**
+	 * @return the mMetrics
+	 */
+	public RadialMenuMetrics getMetrics() {
+		return mMetrics;
+	}
+
 	/**
 	 * @return the mShadowRadius
 	 */
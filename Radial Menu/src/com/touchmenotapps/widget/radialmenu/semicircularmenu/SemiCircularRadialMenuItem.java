@@ -1,5 +1,9 @@
 package com.touchmenotapps.widget.radialmenu.semicircularmenu;
 
+import com.touchmenotapps.widget.radialmenu.RadialMenuIconCache;
+import com.touchmenotapps.widget.radialmenu.geometry.RadialGeometry;
+
+import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Path;
 import android.graphics.Point;
@@ -8,6 +12,8 @@ import android.graphics.drawable.Drawable;
 
 public class SemiCircularRadialMenuItem {
 
+	private static final int DEFAULT_ICON_DIMEN = 64;
+
 	private String mMenuID;
 	private Drawable mIcon;
 	private String mText;
@@ -37,10 +43,36 @@ public class SemiCircularRadialMenuItem {
 		this.mMenuSelectedColor = Color.LTGRAY;
 		this.mBackgroundColor = mMenuNormalColor;
 		this.mTextColor = Color.BLACK;
-		this.mIconDimen = 64;
+		this.mIconDimen = DEFAULT_ICON_DIMEN;
 		mPath = new Path();
 		mBounds = new RectF();
 	}
+
+	/**
+	 * Creates the menu item with an icon taken from the shared
+	 * {@link RadialMenuIconCache}, so items using the same icon resource
+	 * do not decode it again. Each item gets its own drawable of the shared
+	 * bitmap, as the icon bounds are set per item.
+	 * @param context
+	 * @param id
+	 * @param iconId - Icon resource ID, 0 for no icon.
+	 * @param mText
+	 */
+	public SemiCircularRadialMenuItem(Context context, String id, int iconId, String mText) {
+		this(id, newIcon(context, iconId), mText);
+	}
+
+	private static Drawable newIcon(Context context, int iconId) {
+		RadialMenuIconCache.Icon icon = RadialMenuIconCache.getInstance().get(
+				context.getResources(), iconId, DEFAULT_ICON_DIMEN,
+				DEFAULT_ICON_DIMEN);
+		if (icon == null)
+			return null;
+		Drawable.ConstantState state = icon.getDrawable().getConstantState();
+		if (state == null)
+			return null;
+		return state.newDrawable(context.getResources()).mutate();
+	}
 		
 	/**
 	 * @return the mTextColor
@@ -99,6 +131,7 @@ public class SemiCircularRadialMenuItem {
 		int left, right, top, bottom;
 		left = right = top = bottom= 0;
 		//Draw the widget path
+		mPath.reset();
 		mPath.arcTo(menuRect, StartArc, ArcWidth);
 		mPath.arcTo(menuButtonRect, StartArc + ArcWidth, -ArcWidth);
 		mPath.close();
@@ -111,13 +144,14 @@ public class SemiCircularRadialMenuItem {
 		top = (int) drawableCenter.y - (mIconDimen/2);
 		right = left + (mIconDimen);
 		bottom = top + (mIconDimen);
-		mIcon.setBounds(left, top, right, bottom);
+		if (mIcon != null)
+			mIcon.setBounds(left, top, right, bottom);
 	}
 	
 	private Point pointOnCircle(float radius, float angleInDegrees, Point origin) {    
-        int x = (int)(radius * Math.cos(angleInDegrees * Math.PI / 180F)) + origin.x;
-        int y = (int)(radius * Math.sin(angleInDegrees * Math.PI / 180F)) + origin.y;
-        return new Point(x, y);
+        float[] point = new float[2];
+        RadialGeometry.pointOnCircle(0, 0, radius, angleInDegrees, point);
+        return new Point((int) point[0] + origin.x, (int) point[1] + origin.y);
     }
 
 	/**